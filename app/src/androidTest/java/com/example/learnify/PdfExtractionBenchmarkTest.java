@@ -0,0 +1,266 @@
+package com.example.learnify;
+
+import android.content.Context;
+import android.util.Log;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.tom_roush.pdfbox.android.PDFBoxResourceLoader;
+import com.tom_roush.pdfbox.cos.COSName;
+import com.tom_roush.pdfbox.cos.COSStream;
+import com.tom_roush.pdfbox.io.MemoryUsageSetting;
+import com.tom_roush.pdfbox.pdmodel.PDDocument;
+import com.tom_roush.pdfbox.pdmodel.PDPage;
+import com.tom_roush.pdfbox.pdmodel.PDPageContentStream;
+import com.tom_roush.pdfbox.pdmodel.font.PDType1Font;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+@RunWith(AndroidJUnit4.class)
+public class PdfExtractionBenchmarkTest {
+
+    private static final String TAG = "PdfExtractionBenchmark";
+    private static final int[] FIXTURE_PAGES = {10, 50, 200};
+    private static final int LINES_PER_PAGE = 40;
+    private static final int PARALLEL_WORKERS = 4;
+    private static final int ITERATIONS = 3;
+    private static final int STRESS_FIXTURE_MB = 100;
+    private static final long STRESS_MEMORY_BUDGET = 16L * 1024 * 1024;
+    private static final int FILLER_BYTES_PER_PAGE = 1024 * 1024;
+    private static final long HEAP_SAMPLE_MS = 20;
+
+    private Context context;
+
+    @Before
+    public void setUp() {
+        context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        PDFBoxResourceLoader.init(context);
+    }
+
+    @Test
+    public void parallelExtractionKeepsPageOrder() throws IOException {
+        File fixture = createFixture(context.getCacheDir(), 23);
+        try {
+            PdfTextExtractor sequential = extractor(1);
+            PdfTextExtractor parallel = extractor(PARALLEL_WORKERS);
+
+            List<Integer> windowStarts = new ArrayList<>();
+            String expected = sequential.extract(fixture, (text, firstPage, lastPage, totalPages) -> {}).getText();
+            String actual = parallel.extract(fixture, (text, firstPage, lastPage, totalPages) -> {
+                assertEquals(23, totalPages);
+                windowStarts.add(firstPage);
+            }).getText();
+
+            assertEquals(expected, actual);
+            assertEquals(Arrays.asList(1, 6, 11, 16, 21), windowStarts);
+            assertTrue(actual.indexOf("Page 9 line 1:") < actual.indexOf("Page 10 line 1:"));
+        } finally {
+            fixture.delete();
+        }
+    }
+
+    @Test
+    public void benchmarkThroughput() throws IOException {
+        for (int pages : FIXTURE_PAGES) {
+            File fixture = createFixture(context.getCacheDir(), pages);
+            try {
+                measure(fixture, pages, 1);
+                measure(fixture, pages, PARALLEL_WORKERS);
+            } finally {
+                fixture.delete();
+            }
+        }
+    }
+
+    @Test
+    public void largeDocumentExtractsUnderMemoryBudget() throws IOException, InterruptedException {
+        File fixture = createLargeFixture(context.getCacheDir(), STRESS_FIXTURE_MB * 1024L * 1024L);
+        try {
+            PdfTextExtractor extractor = new PdfTextExtractor();
+            extractor.setMaxPages(0);
+            extractor.setWorkerCount(1);
+            extractor.setMemoryBudget(STRESS_MEMORY_BUDGET, context.getCacheDir());
+
+            Runtime runtime = Runtime.getRuntime();
+            System.gc();
+            long baseline = runtime.totalMemory() - runtime.freeMemory();
+            long[] peakHeap = {baseline};
+            Thread sampler = new Thread(() -> {
+                while (!Thread.currentThread().isInterrupted()) {
+                    peakHeap[0] = Math.max(peakHeap[0], runtime.totalMemory() - runtime.freeMemory());
+                    try {
+                        Thread.sleep(HEAP_SAMPLE_MS);
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+            });
+
+            int pages;
+            String text;
+            long millis;
+            sampler.start();
+            try {
+                long start = System.nanoTime();
+                try (InputStream in = new FileInputStream(fixture);
+                     PDDocument document = extractor.load(in)) {
+                    pages = document.getNumberOfPages();
+                    text = extractor.extractSequential(document, (chunk, firstPage, lastPage, totalPages) -> {}).getText();
+                }
+                millis = (System.nanoTime() - start) / 1_000_000;
+            } finally {
+                sampler.interrupt();
+                sampler.join();
+            }
+
+            StressResult result = new StressResult(fixture.length(), pages, millis, peakHeap[0] - baseline, runtime.maxMemory());
+            Log.d(TAG, result.toString());
+
+            assertEquals(STRESS_FIXTURE_MB, pages);
+            assertTrue(text.contains("Page 1 line 1:"));
+            assertTrue(text.contains("Page " + pages + " line 40:"));
+            assertTrue(result.toString(), result.heapGrowthBytes < fixture.length() / 2);
+        } finally {
+            fixture.delete();
+        }
+    }
+
+    private static PdfTextExtractor extractor(int workers) {
+        PdfTextExtractor extractor = new PdfTextExtractor();
+        extractor.setMaxPages(0);
+        extractor.setWorkerCount(workers);
+        return extractor;
+    }
+
+    private static void measure(File fixture, int pages, int workerCount) throws IOException {
+        PdfTextExtractor extractor = extractor(workerCount);
+        assertEquals(pages, extractor.extract(fixture, (text, firstPage, lastPage, totalPages) -> {}).getTotalPages());
+
+        long[] millis = new long[ITERATIONS];
+        for (int i = 0; i < millis.length; i++) {
+            long start = System.nanoTime();
+            extractor.extract(fixture, (text, firstPage, lastPage, totalPages) -> {});
+            millis[i] = (System.nanoTime() - start) / 1_000_000;
+        }
+        Arrays.sort(millis);
+
+        Log.d(TAG, new Result(pages, extractor.getWorkerCount(), millis[millis.length / 2]).toString());
+    }
+
+    private static File createFixture(File dir, int pages) throws IOException {
+        File file = File.createTempFile("bench_" + pages + "_", ".pdf", dir);
+        try (PDDocument document = new PDDocument()) {
+            for (int p = 1; p <= pages; p++) {
+                PDPage page = new PDPage();
+                document.addPage(page);
+                try (PDPageContentStream content = new PDPageContentStream(document, page)) {
+                    content.beginText();
+                    content.setFont(PDType1Font.HELVETICA, 10);
+                    content.newLineAtOffset(40, 750);
+                    for (int line = 1; line <= LINES_PER_PAGE; line++) {
+                        content.showText("Page " + p + " line " + line + ": cells divide by mitosis and meiosis to grow and reproduce.");
+                        content.newLineAtOffset(0, -17);
+                    }
+                    content.endText();
+                }
+            }
+            document.save(file);
+        }
+        return file;
+    }
+
+    private static File createLargeFixture(File dir, long targetBytes) throws IOException {
+        File file = File.createTempFile("stress_", ".pdf", dir);
+        MemoryUsageSetting scratch = MemoryUsageSetting.setupTempFileOnly();
+        scratch.setTempDir(dir);
+        Random random = new Random(42);
+        byte[] filler = new byte[FILLER_BYTES_PER_PAGE];
+        try (PDDocument document = new PDDocument(scratch)) {
+            long written = 0;
+            for (int p = 1; written < targetBytes; p++) {
+                PDPage page = new PDPage();
+                document.addPage(page);
+                try (PDPageContentStream content = new PDPageContentStream(document, page)) {
+                    content.beginText();
+                    content.setFont(PDType1Font.HELVETICA, 10);
+                    content.newLineAtOffset(40, 750);
+                    for (int line = 1; line <= LINES_PER_PAGE; line++) {
+                        content.showText("Page " + p + " line " + line + ": photosynthesis stores light energy in glucose.");
+                        content.newLineAtOffset(0, -17);
+                    }
+                    content.endText();
+                }
+
+                COSStream stream = document.getDocument().createCOSStream();
+                random.nextBytes(filler);
+                try (OutputStream out = stream.createRawOutputStream()) {
+                    out.write(filler);
+                }
+                page.getCOSObject().setItem(COSName.getPDFName("Filler"), stream);
+                written += filler.length;
+            }
+            document.save(file);
+        }
+        return file;
+    }
+
+    private static class StressResult {
+        private final long fileBytes;
+        private final int pages;
+        private final long millis;
+        private final long heapGrowthBytes;
+        private final long maxHeapBytes;
+
+        StressResult(long fileBytes, int pages, long millis, long heapGrowthBytes, long maxHeapBytes) {
+            this.fileBytes = fileBytes;
+            this.pages = pages;
+            this.millis = millis;
+            this.heapGrowthBytes = heapGrowthBytes;
+            this.maxHeapBytes = maxHeapBytes;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT, "file=%dMB pages=%d time=%dms heapGrowth=%dMB maxHeap=%dMB",
+                    fileBytes / (1024 * 1024), pages, millis, heapGrowthBytes / (1024 * 1024), maxHeapBytes / (1024 * 1024));
+        }
+    }
+
+    private static class Result {
+        private final int pages;
+        private final int workers;
+        private final long millis;
+
+        Result(int pages, int workers, long millis) {
+            this.pages = pages;
+            this.workers = workers;
+            this.millis = millis;
+        }
+
+        double getPagesPerSecond() {
+            return millis == 0 ? pages * 1000.0 : pages * 1000.0 / millis;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT, "pages=%d workers=%d median=%dms throughput=%.1f pages/s",
+                    pages, workers, millis, getPagesPerSecond());
+        }
+    }
+}
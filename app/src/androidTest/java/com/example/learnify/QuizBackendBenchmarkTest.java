@@ -0,0 +1,181 @@
+package com.example.learnify;
+
+import android.content.Context;
+import android.util.Log;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+@RunWith(AndroidJUnit4.class)
+public class QuizBackendBenchmarkTest {
+
+    private static final String TAG = "QuizBackendBenchmark";
+    private static final int QUESTIONS = 5;
+    private static final int REQUESTS = 20;
+    private static final int CONCURRENCY = 4;
+    private static final long LATENCY_MS = 50;
+    private static final String TEXT = "Photosynthesis converts light energy into chemical energy stored in glucose. "
+            + "It takes place in the chloroplasts of plant cells.";
+
+    private Context context;
+    private StubHttpServer server;
+    private ResilientLlmClient llm;
+    private QuizGenerator generator;
+
+    @Before
+    public void setUp() throws Exception {
+        context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        server = new StubHttpServer();
+        server.addRecording(HttpQuizBackend.GENERATE_PATH, recording());
+        server.addRecording(HttpQuizBackend.STREAM_PATH, recording());
+        server.setLatencyMs(LATENCY_MS);
+
+        llm = new ResilientLlmClient();
+        llm.setHedgingEnabled(false);
+        generator = new QuizGenerator(context, new HttpQuizBackend(context, server.getBaseUrl()), llm);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        server.close();
+    }
+
+    @Test
+    public void benchmarkGenerate() throws InterruptedException {
+        Result result = run(false);
+        assertEquals(REQUESTS, result.getSuccesses());
+        assertEquals(REQUESTS, server.getRequestCount());
+    }
+
+    @Test
+    public void benchmarkStream() throws InterruptedException {
+        server.setChunking(64, 5);
+        Result result = run(true);
+        assertEquals(REQUESTS, result.getSuccesses());
+        assertEquals(REQUESTS, server.getRequestCount());
+    }
+
+    @Test
+    public void injectedFailuresAreRetriedOnThePrivateClient() throws InterruptedException {
+        server.setFailureRate(0.2, 503);
+        Map<String, Long> globalBefore = ResilientLlmClient.getInstance().getCounters();
+
+        Result result = run(false);
+
+        assertEquals(REQUESTS, result.getSuccesses() + result.getFailures());
+        assertTrue(result.getSuccesses() >= REQUESTS - 2);
+        assertEquals(REQUESTS, (long) llm.getCounters().get("calls"));
+        assertEquals(globalBefore, ResilientLlmClient.getInstance().getCounters());
+        assertEquals(CircuitBreaker.State.CLOSED, ResilientLlmClient.getInstance().getBreakerState());
+    }
+
+    private Result run(boolean stream) throws InterruptedException {
+        Semaphore permits = new Semaphore(CONCURRENCY);
+        CountDownLatch done = new CountDownLatch(REQUESTS);
+        long[] latencies = new long[REQUESTS];
+        AtomicInteger failures = new AtomicInteger();
+
+        long startedAt = System.nanoTime();
+        for (int i = 0; i < REQUESTS; i++) {
+            permits.acquire();
+            int index = i;
+            long start = System.nanoTime();
+            QuizGenerator.QuizCallback callback = new QuizGenerator.QuizCallback() {
+                @Override
+                public void onSuccess(QuizResponse response) {
+                    latencies[index] = response.getQuestions().size() == QUESTIONS ? System.nanoTime() - start : -1;
+                    if (latencies[index] < 0) failures.incrementAndGet();
+                    finish();
+                }
+
+                @Override
+                public void onError(Throwable t) {
+                    latencies[index] = -1;
+                    failures.incrementAndGet();
+                    finish();
+                }
+
+                private void finish() {
+                    permits.release();
+                    done.countDown();
+                }
+            };
+
+            String input = TEXT + "\n\nRun " + index + ".";
+            if (stream) {
+                generator.generateQuizStream(input, QUESTIONS, "Medium", "English", true, callback);
+            } else {
+                generator.generateQuiz(input, QUESTIONS, "Medium", "English", true, callback);
+            }
+        }
+        assertTrue(done.await(60, TimeUnit.SECONDS));
+
+        Result result = new Result(latencies, failures.get(), System.nanoTime() - startedAt, stream);
+        Log.d(TAG, result.toString());
+        return result;
+    }
+
+    private static String recording() {
+        StringBuilder json = new StringBuilder("{\"topic\":\"Photosynthesis\",\"questions\":[");
+        for (int i = 1; i <= QUESTIONS; i++) {
+            if (i > 1) json.append(',');
+            json.append("{\"questionText\":\"Question ").append(i).append(": where does photosynthesis happen?\",")
+                    .append("\"answers\":[")
+                    .append("{\"answerText\":\"Chloroplasts\",\"isCorrect\":true},")
+                    .append("{\"answerText\":\"Mitochondria\",\"isCorrect\":false},")
+                    .append("{\"answerText\":\"Nucleus\",\"isCorrect\":false},")
+                    .append("{\"answerText\":\"Ribosomes\",\"isCorrect\":false}],")
+                    .append("\"explanation\":\"Chloroplasts hold chlorophyll.\"}");
+        }
+        return json.append("]}").toString();
+    }
+
+    private static class Result {
+        private final long[] sortedMillis;
+        private final int failures;
+        private final long wallNanos;
+        private final boolean stream;
+
+        Result(long[] latencyNanos, int failures, long wallNanos, boolean stream) {
+            this.sortedMillis = Arrays.stream(latencyNanos).filter(n -> n >= 0).map(n -> n / 1_000_000).sorted().toArray();
+            this.failures = failures;
+            this.wallNanos = wallNanos;
+            this.stream = stream;
+        }
+
+        int getSuccesses() { return sortedMillis.length; }
+        int getFailures() { return failures; }
+
+        long percentileMillis(double p) {
+            if (sortedMillis.length == 0) return 0;
+            int index = (int) Math.ceil(p * sortedMillis.length) - 1;
+            return sortedMillis[Math.max(0, Math.min(sortedMillis.length - 1, index))];
+        }
+
+        double getThroughputPerSecond() {
+            return wallNanos == 0 ? 0.0 : sortedMillis.length / (wallNanos / 1e9);
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT, "stream=%b concurrency=%d ok=%d failed=%d p50=%dms p95=%dms p99=%dms throughput=%.2f/s",
+                    stream, CONCURRENCY, getSuccesses(), failures, percentileMillis(0.50), percentileMillis(0.95),
+                    percentileMillis(0.99), getThroughputPerSecond());
+        }
+    }
+}
@@ -0,0 +1,227 @@
+package com.example.learnify;
+
+import android.util.Log;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class StubHttpServer implements Closeable {
+
+    private static final String TAG = "StubHttpServer";
+    private static final int HANDLER_THREADS = 16;
+
+    private final ServerSocket serverSocket;
+    private final AppExecutors.Pool handlers = new AppExecutors.Pool("stub-http", HANDLER_THREADS);
+    private final Thread acceptor;
+    private final Map<String, List<String>> recordings = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> cursors = new ConcurrentHashMap<>();
+    private final AtomicInteger requestCount = new AtomicInteger();
+    private final AtomicInteger activeRequests = new AtomicInteger();
+    private final AtomicInteger peakActiveRequests = new AtomicInteger();
+
+    private volatile long latencyMs;
+    private volatile int chunkSize;
+    private volatile long chunkDelayMs;
+    private volatile double failureRate;
+    private volatile int failureStatus = 503;
+
+    public StubHttpServer() throws IOException {
+        this(0);
+    }
+
+    public StubHttpServer(int port) throws IOException {
+        serverSocket = new ServerSocket(port, 50, InetAddress.getLoopbackAddress());
+        acceptor = new Thread(this::acceptLoop, "stub-http-accept");
+        acceptor.setDaemon(true);
+        acceptor.start();
+    }
+
+    public String getBaseUrl() {
+        return "http://127.0.0.1:" + serverSocket.getLocalPort();
+    }
+
+    public void addRecording(String path, String body) {
+        recordings.computeIfAbsent(path, k -> new CopyOnWriteArrayList<>()).add(body);
+    }
+
+    public void setLatencyMs(long latencyMs) {
+        this.latencyMs = latencyMs;
+    }
+
+    public void setChunking(int chunkSize, long chunkDelayMs) {
+        this.chunkSize = chunkSize;
+        this.chunkDelayMs = chunkDelayMs;
+    }
+
+    public void setFailureRate(double failureRate, int failureStatus) {
+        this.failureRate = failureRate;
+        this.failureStatus = failureStatus;
+    }
+
+    public int getRequestCount() {
+        return requestCount.get();
+    }
+
+    public int getPeakActiveRequests() {
+        return peakActiveRequests.get();
+    }
+
+    private void acceptLoop() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                handlers.execute(() -> handle(socket));
+            } catch (IOException e) {
+                if (!serverSocket.isClosed()) Log.e(TAG, "Accept failed", e);
+            }
+        }
+    }
+
+    private void handle(Socket socket) {
+        try (Socket s = socket) {
+            InputStream in = new BufferedInputStream(s.getInputStream());
+            OutputStream out = s.getOutputStream();
+
+            String requestLine = readLine(in);
+            if (requestLine == null) return;
+            int contentLength = 0;
+            String header;
+            while ((header = readLine(in)) != null && !header.isEmpty()) {
+                int colon = header.indexOf(':');
+                if (colon > 0 && header.substring(0, colon).trim().equalsIgnoreCase("Content-Length")) {
+                    contentLength = Integer.parseInt(header.substring(colon + 1).trim());
+                }
+            }
+            long remaining = contentLength;
+            while (remaining > 0) {
+                long skipped = in.skip(remaining);
+                if (skipped <= 0) break;
+                remaining -= skipped;
+            }
+
+            requestCount.incrementAndGet();
+            peakActiveRequests.accumulateAndGet(activeRequests.incrementAndGet(), Math::max);
+            try {
+                String[] parts = requestLine.split(" ");
+                String target = parts.length > 1 ? parts[1] : "/";
+                int query = target.indexOf('?');
+                String path = query >= 0 ? target.substring(0, query) : target;
+
+                sleep(latencyMs);
+
+                String body = nextRecording(target);
+                if (body == null) body = nextRecording(path);
+                if (body == null) {
+                    writeStatus(out, 404, "Not Found");
+                    return;
+                }
+                if (failureRate > 0 && ThreadLocalRandom.current().nextDouble() < failureRate) {
+                    writeStatus(out, failureStatus, "Injected Failure");
+                    return;
+                }
+                writeChunked(out, body);
+            } finally {
+                activeRequests.decrementAndGet();
+            }
+        } catch (IOException | RuntimeException e) {
+            Log.w(TAG, "Request failed: " + e);
+        }
+    }
+
+    private String nextRecording(String path) {
+        List<String> bodies = recordings.get(path);
+        if (bodies == null || bodies.isEmpty()) return null;
+        int index = cursors.computeIfAbsent(path, k -> new AtomicInteger()).getAndIncrement();
+        return bodies.get(Math.floorMod(index, bodies.size()));
+    }
+
+    private void writeStatus(OutputStream out, int code, String reason) throws IOException {
+        String response = "HTTP/1.1 " + code + " " + reason + "\r\n" +
+                "Content-Length: 0\r\n" +
+                "Connection: close\r\n\r\n";
+        out.write(response.getBytes(StandardCharsets.US_ASCII));
+        out.flush();
+    }
+
+    private void writeChunked(OutputStream out, String body) throws IOException {
+        String head = "HTTP/1.1 200 OK\r\n" +
+                "Content-Type: application/json; charset=utf-8\r\n" +
+                "Transfer-Encoding: chunked\r\n" +
+                "Connection: close\r\n\r\n";
+        out.write(head.getBytes(StandardCharsets.US_ASCII));
+
+        for (String piece : split(body, chunkSize)) {
+            byte[] bytes = piece.getBytes(StandardCharsets.UTF_8);
+            out.write(String.format(Locale.ROOT, "%x\r\n", bytes.length).getBytes(StandardCharsets.US_ASCII));
+            out.write(bytes);
+            out.write("\r\n".getBytes(StandardCharsets.US_ASCII));
+            out.flush();
+            sleep(chunkDelayMs);
+        }
+        out.write("0\r\n\r\n".getBytes(StandardCharsets.US_ASCII));
+        out.flush();
+    }
+
+    private static List<String> split(String body, int size) {
+        List<String> pieces = new ArrayList<>();
+        if (size <= 0 || body.length() <= size) {
+            if (!body.isEmpty()) pieces.add(body);
+            return pieces;
+        }
+        int start = 0;
+        while (start < body.length()) {
+            int end = Math.min(body.length(), start + size);
+            if (end < body.length() && Character.isHighSurrogate(body.charAt(end - 1))) end++;
+            pieces.add(body.substring(start, end));
+            start = end;
+        }
+        return pieces;
+    }
+
+    private static String readLine(InputStream in) throws IOException {
+        ByteArrayOutputStream line = new ByteArrayOutputStream();
+        int b;
+        while ((b = in.read()) != -1) {
+            if (b == '\n') break;
+            if (b != '\r') line.write(b);
+        }
+        if (b == -1 && line.size() == 0) return null;
+        return line.toString("ISO-8859-1");
+    }
+
+    private static void sleep(long millis) {
+        if (millis <= 0) return;
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+        handlers.shutdownNow();
+        try {
+            acceptor.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
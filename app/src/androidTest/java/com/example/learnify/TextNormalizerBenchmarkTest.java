@@ -0,0 +1,65 @@
+package com.example.learnify;
+
+import android.util.Log;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.Locale;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+@RunWith(AndroidJUnit4.class)
+public class TextNormalizerBenchmarkTest {
+
+    private static final String TAG = "TextNormalizerBenchmark";
+    private static final int BENCHMARK_CHARS = 2 * 1024 * 1024;
+    private static final int WARMUP_ITERATIONS = 20;
+    private static final int ITERATIONS = 50;
+
+    @Test
+    public void benchmarkDocumentNormalization() {
+        String sample = documentSample();
+        TextNormalizer.Result normalized = null;
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            normalized = TextNormalizer.forDocuments().normalize(sample);
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            normalized = TextNormalizer.forDocuments().normalize(sample);
+        }
+        long nanosPerOp = (System.nanoTime() - start) / ITERATIONS;
+
+        assertTrue(normalized.getSavedChars() > 0);
+        assertFalse(normalized.getText().contains("Introduction to Cell Biology"));
+        Log.d(TAG, String.format(Locale.ROOT,
+                "chars=%d saved=%d (%.1f%%) time=%dus/op throughput=%.1f chars/us",
+                sample.length(), normalized.getSavedChars(), normalized.getSavedRatio() * 100,
+                nanosPerOp / 1000, sample.length() * 1000.0 / nanosPerOp));
+    }
+
+    private static String documentSample() {
+        String[] words = {"the", "mitochondria", "produce", "ATP", "through", "cellular", "respiration", "while",
+                "chloroplasts", "capture", "light", "energy", "and", "store", "it", "as", "glucose", "in", "plant",
+                "cells", "membrane", "proteins", "transport", "ions", "across", "gradients"};
+        Random random = new Random(42);
+        StringBuilder text = new StringBuilder(BENCHMARK_CHARS + 4096);
+        for (int page = 1; text.length() < BENCHMARK_CHARS; page++) {
+            text.append("Introduction to Cell Biology   Chapter 3\n\n");
+            for (int line = 1; line <= 40; line++) {
+                int lineStart = text.length();
+                text.append(line % 5 == 1 && line > 1 ? "ration  " : "  ");
+                while (text.length() - lineStart < 70) {
+                    text.append(words[random.nextInt(words.length)]).append(random.nextInt(8) == 0 ? "\t" : "  ");
+                }
+                text.append(line % 5 == 0 ? "respi-" : "end.").append('\n');
+            }
+            text.append('\n').append(page).append('\n').append(TextNormalizer.PAGE_BREAK).append('\n');
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,201 @@
+package com.example.learnify;
+
+import android.content.Context;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.*;
+
+@RunWith(AndroidJUnit4.class)
+public class TranscriptBatchTest {
+
+    private static final String PLAYLIST_URL = "https://www.youtube.com/playlist?list=PLstub";
+    private static final double REQUESTS_PER_SECOND = 1000;
+
+    private StubHttpServer server;
+    private YouTubeHelper helper;
+
+    @Before
+    public void setUp() throws Exception {
+        Context context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        server = new StubHttpServer();
+        helper = new YouTubeHelper(context);
+        helper.setApiBaseUrl(server.getBaseUrl());
+        helper.setPlaylistBaseUrl(server.getBaseUrl());
+        helper.setRequestsPerSecond(REQUESTS_PER_SECOND);
+        helper.setCacheEnabled(false);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        server.close();
+    }
+
+    @Test
+    public void playlistIsExpandedInOrderWithoutDuplicates() throws Exception {
+        server.addRecording("/playlist", "<html><script>var data = {\"contents\":["
+                + "{\"videoId\":\"" + videoId(2) + "\"},"
+                + "{\"videoId\":\"" + videoId(0) + "\"},"
+                + "{\"videoId\":\"" + videoId(2) + "\"},"
+                + "{\"videoId\":\"short\"},"
+                + "{\"videoId\":\"" + videoId(1) + "\"}"
+                + "]};</script></html>");
+        server.addRecording("/get_transcript", transcript("Cells divide by mitosis."));
+
+        Batch batch = run(Collections.singletonList(PLAYLIST_URL));
+
+        List<String> ids = new ArrayList<>();
+        for (YouTubeHelper.VideoResult result : batch.results) ids.add(result.getVideoId());
+        assertEquals(Arrays.asList(videoId(2), videoId(0), videoId(1)), ids);
+    }
+
+    @Test
+    public void batchNeverExceedsConfiguredConcurrency() throws Exception {
+        int videos = 12;
+        int concurrency = 3;
+        server.addRecording("/playlist", playlist(videos));
+        server.addRecording("/get_transcript", transcript("Photosynthesis stores light energy."));
+        server.setLatencyMs(100);
+        helper.setBatchConcurrency(concurrency);
+
+        Batch batch = run(Collections.singletonList(PLAYLIST_URL));
+
+        assertEquals(videos, batch.results.size());
+        assertTrue(server.getPeakActiveRequests() <= concurrency);
+        assertTrue(server.getPeakActiveRequests() > 1);
+    }
+
+    @Test
+    public void oneFailedVideoDoesNotFailTheBatch() throws Exception {
+        int videos = 5;
+        server.addRecording("/playlist", playlist(videos));
+        server.addRecording("/get_transcript?id=" + videoId(3), "{\"transcript\":[]}");
+        server.addRecording("/get_transcript", transcript("Enzymes lower activation energy."));
+        helper.setBatchConcurrency(2);
+
+        Batch batch = run(Collections.singletonList(PLAYLIST_URL));
+
+        assertNull(batch.error);
+        assertEquals(videos, batch.results.size());
+        for (int i = 0; i < videos; i++) {
+            YouTubeHelper.VideoResult result = batch.results.get(i);
+            assertEquals(videoId(i), result.getVideoId());
+            assertEquals(i != 3, result.isSuccessful());
+        }
+        assertFalse(batch.text.contains(videoId(3)));
+    }
+
+    @Test
+    public void combinedTextHasOneSectionPerVideo() throws Exception {
+        int videos = 3;
+        server.addRecording("/playlist", playlist(videos));
+        server.addRecording("/get_transcript?id=" + videoId(1), transcript("Second video text."));
+        server.addRecording("/get_transcript", transcript("Other video text."));
+
+        Batch batch = run(Collections.singletonList(PLAYLIST_URL));
+
+        String expected = "=== Video 1 of 3: https://youtu.be/" + videoId(0) + " ===\nOther video text.\n\n"
+                + "=== Video 2 of 3: https://youtu.be/" + videoId(1) + " ===\nSecond video text.\n\n"
+                + "=== Video 3 of 3: https://youtu.be/" + videoId(2) + " ===\nOther video text.";
+        assertEquals(expected, batch.text);
+    }
+
+    @Test
+    public void cachedTranscriptIsKeyedByCaptionLanguage() throws Exception {
+        String videoId = String.format(Locale.ROOT, "cache%06d", new Random().nextInt(1_000_000));
+        server.addRecording("/get_transcript", transcript("Cells divide by mitosis."));
+        helper.setCacheEnabled(true);
+
+        assertEquals("Cells divide by mitosis.", fetch(videoId));
+        assertEquals("Cells divide by mitosis.", fetch(videoId));
+        assertEquals(1, server.getRequestCount());
+
+        helper.setCaptionLanguage("Spanish");
+        fetch(videoId);
+        assertEquals(2, server.getRequestCount());
+    }
+
+    private String fetch(String videoId) throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(1);
+        AtomicReference<String> text = new AtomicReference<>();
+        helper.getTranscript("https://youtu.be/" + videoId, new YouTubeHelper.TranscriptCallback() {
+            @Override
+            public void onSuccess(String transcriptText, String id) {
+                text.set(transcriptText);
+                done.countDown();
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                done.countDown();
+            }
+        });
+        assertTrue(done.await(30, TimeUnit.SECONDS));
+        return text.get();
+    }
+
+    private Batch run(List<String> urls) throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(1);
+        AtomicReference<Batch> batch = new AtomicReference<>();
+        helper.getTranscripts(urls, new YouTubeHelper.BatchCallback() {
+            @Override
+            public void onSuccess(String combinedText, List<YouTubeHelper.VideoResult> results) {
+                batch.set(new Batch(combinedText, results, null));
+                done.countDown();
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                batch.set(new Batch(null, Collections.emptyList(), t));
+                done.countDown();
+            }
+        });
+        assertTrue(done.await(30, TimeUnit.SECONDS));
+        return batch.get();
+    }
+
+    private static String videoId(int index) {
+        return String.format(Locale.ROOT, "stubvid%04d", index);
+    }
+
+    private static String playlist(int videos) {
+        StringBuilder page = new StringBuilder("<html><script>var data = {\"contents\":[");
+        for (int i = 0; i < videos; i++) {
+            if (i > 0) page.append(',');
+            page.append("{\"videoId\":\"").append(videoId(i)).append("\"}");
+        }
+        return page.append("]};</script></html>").toString();
+    }
+
+    private static String transcript(String text) {
+        return "{\"transcript\":[{\"text\":\"" + text + "\"}]}";
+    }
+
+    private static class Batch {
+        final String text;
+        final List<YouTubeHelper.VideoResult> results;
+        final Throwable error;
+
+        Batch(String text, List<YouTubeHelper.VideoResult> results, Throwable error) {
+            this.text = text;
+            this.results = results;
+            this.error = error;
+        }
+    }
+}
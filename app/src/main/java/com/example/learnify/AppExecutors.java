@@ -0,0 +1,182 @@
+package com.example.learnify;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+
+import com.google.common.util.concurrent.MoreExecutors;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class AppExecutors {
+
+    private static final String TAG = "AppExecutors";
+    private static final int CORES = Runtime.getRuntime().availableProcessors();
+    private static final int IO_THREADS = 8;
+    private static final int CPU_THREADS = Math.max(2, CORES);
+    private static final long KEEP_ALIVE_SECONDS = 30;
+
+    private static AppExecutors instance;
+
+    private final Pool io = new Pool("io", IO_THREADS);
+    private final Pool cpu = new Pool("cpu", CPU_THREADS);
+    private final Pool db = new Pool("db", 1);
+    private final ScheduledThreadPoolExecutor scheduler;
+    private final MainThread mainThread = new MainThread();
+
+    private AppExecutors() {
+        scheduler = new ScheduledThreadPoolExecutor(1, new NamedThreadFactory("scheduler"));
+        scheduler.setRemoveOnCancelPolicy(true);
+    }
+
+    public static synchronized AppExecutors getInstance() {
+        if (instance == null) {
+            instance = new AppExecutors();
+        }
+        return instance;
+    }
+
+    public Pool io() {
+        return io;
+    }
+
+    public Pool cpu() {
+        return cpu;
+    }
+
+    public Pool db() {
+        return db;
+    }
+
+    public ScheduledExecutorService scheduler() {
+        return scheduler;
+    }
+
+    public MainThread mainThread() {
+        return mainThread;
+    }
+
+    public Executor newSerialExecutor(Executor pool) {
+        return MoreExecutors.newSequentialExecutor(pool);
+    }
+
+    public Map<String, Long> getCounters() {
+        Map<String, Long> counters = new LinkedHashMap<>();
+        for (Pool pool : new Pool[]{io, cpu, db}) {
+            counters.put(pool.name + ".active", (long) pool.getActiveCount());
+            counters.put(pool.name + ".queued", (long) pool.getQueueDepth());
+            counters.put(pool.name + ".peakQueued", (long) pool.getPeakQueueDepth());
+            counters.put(pool.name + ".completed", pool.getCompletedTaskCount());
+        }
+        counters.put("scheduler.queued", (long) scheduler.getQueue().size());
+        return counters;
+    }
+
+    public void logStats() {
+        for (Pool pool : new Pool[]{io, cpu, db}) {
+            Log.d(TAG, String.format(Locale.ROOT, "%s threads=%d active=%d queued=%d peakQueued=%d wait[%s] run[%s]",
+                    pool.name, pool.getPoolSize(), pool.getActiveCount(), pool.getQueueDepth(),
+                    pool.getPeakQueueDepth(), pool.getQueueWait(), pool.getRunTime()));
+        }
+    }
+
+    public static class Pool extends ThreadPoolExecutor {
+        private final String name;
+        private final LatencyHistogram queueWait = new LatencyHistogram();
+        private final LatencyHistogram runTime = new LatencyHistogram();
+        private final AtomicInteger peakQueueDepth = new AtomicInteger();
+
+        Pool(String name, int threads) {
+            super(threads, threads, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), new NamedThreadFactory(name));
+            this.name = name;
+            allowCoreThreadTimeOut(true);
+        }
+
+        @Override
+        public void execute(@NonNull Runnable command) {
+            super.execute(new Timed(command));
+            peakQueueDepth.accumulateAndGet(getQueue().size(), Math::max);
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public int getQueueDepth() {
+            return getQueue().size();
+        }
+
+        public int getPeakQueueDepth() {
+            return peakQueueDepth.get();
+        }
+
+        public LatencyHistogram getQueueWait() {
+            return queueWait;
+        }
+
+        public LatencyHistogram getRunTime() {
+            return runTime;
+        }
+
+        private class Timed implements Runnable {
+            private final Runnable command;
+            private final long enqueuedAt = System.nanoTime();
+
+            Timed(Runnable command) {
+                this.command = command;
+            }
+
+            @Override
+            public void run() {
+                long startedAt = System.nanoTime();
+                queueWait.record((startedAt - enqueuedAt) / 1_000_000);
+                try {
+                    command.run();
+                } finally {
+                    runTime.record((System.nanoTime() - startedAt) / 1_000_000);
+                }
+            }
+        }
+    }
+
+    public static class MainThread implements Executor {
+        private final Handler handler = new Handler(Looper.getMainLooper());
+
+        @Override
+        public void execute(@NonNull Runnable command) {
+            handler.post(command);
+        }
+
+        public void execute(CancellableTask task, Runnable command) {
+            handler.post(() -> {
+                if (!task.isCancelled()) command.run();
+            });
+        }
+    }
+
+    private static class NamedThreadFactory implements ThreadFactory {
+        private final String prefix;
+        private final AtomicInteger count = new AtomicInteger();
+
+        NamedThreadFactory(String name) {
+            this.prefix = "learnify-" + name + "-";
+        }
+
+        @Override
+        public Thread newThread(@NonNull Runnable runnable) {
+            return new Thread(runnable, prefix + count.incrementAndGet());
+        }
+    }
+}
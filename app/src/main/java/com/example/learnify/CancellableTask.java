@@ -0,0 +1,76 @@
+package com.example.learnify;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Future;
+
+public class CancellableTask {
+
+    private final List<Runnable> cancelActions = new ArrayList<>();
+    private Future<?> future;
+    private boolean cancelled;
+    private volatile boolean finished;
+    private volatile float progress;
+
+    public boolean cancel() {
+        List<Runnable> actions;
+        Future<?> running;
+        synchronized (this) {
+            if (cancelled || finished) return false;
+            cancelled = true;
+            actions = new ArrayList<>(cancelActions);
+            cancelActions.clear();
+            running = future;
+        }
+        if (running != null) running.cancel(true);
+        for (Runnable action : actions) action.run();
+        return true;
+    }
+
+    public synchronized boolean isCancelled() {
+        return cancelled;
+    }
+
+    public boolean isDone() {
+        return finished || isCancelled();
+    }
+
+    public float getProgress() {
+        return progress;
+    }
+
+    void setFuture(Future<?> future) {
+        synchronized (this) {
+            if (!cancelled) {
+                this.future = future;
+                return;
+            }
+        }
+        future.cancel(true);
+    }
+
+    void onCancel(Runnable action) {
+        synchronized (this) {
+            if (!cancelled) {
+                cancelActions.add(action);
+                return;
+            }
+        }
+        action.run();
+    }
+
+    float setProgress(int done, int total) {
+        if (total > 0) progress = Math.min(1f, Math.max(progress, (float) done / total));
+        return progress;
+    }
+
+    void finish() {
+        synchronized (this) {
+            if (cancelled) return;
+            finished = true;
+            cancelActions.clear();
+            future = null;
+        }
+        progress = 1f;
+    }
+}
@@ -0,0 +1,209 @@
+package com.example.learnify;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+public class DiskCache {
+
+    private static final String SUFFIX = ".gz";
+
+    private final File directory;
+    private long maxBytes;
+    private final LinkedHashMap<String, Long> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long currentBytes = 0;
+    private final FutureTask<Void> index;
+
+    public DiskCache(File directory, long maxBytes) {
+        this.directory = directory;
+        this.maxBytes = maxBytes;
+        this.index = new FutureTask<>(this::loadIndex, null);
+        AppExecutors.getInstance().io().execute(index);
+    }
+
+    private void awaitIndex() {
+        index.run();
+        boolean interrupted = false;
+        while (true) {
+            try {
+                index.get();
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            } catch (ExecutionException e) {
+                break;
+            }
+        }
+        if (interrupted) Thread.currentThread().interrupt();
+    }
+
+    private void loadIndex() {
+        if (!directory.exists() && !directory.mkdirs()) return;
+
+        File[] files = directory.listFiles((dir, name) -> name.endsWith(SUFFIX));
+        if (files == null) return;
+
+        Arrays.sort(files, (a, b) -> Long.compare(a.lastModified(), b.lastModified()));
+        for (File file : files) {
+            String key = file.getName().substring(0, file.getName().length() - SUFFIX.length());
+            entries.put(key, file.length());
+            currentBytes += file.length();
+        }
+        trimToSize();
+    }
+
+    public synchronized Entry get(String key) {
+        awaitIndex();
+        if (entries.get(key) == null) return null;
+
+        File file = fileFor(key);
+        try (DataInputStream in = new DataInputStream(new FileInputStream(file))) {
+            long createdAt = in.readLong();
+            String value = new String(readAll(new GZIPInputStream(in)), StandardCharsets.UTF_8);
+            file.setLastModified(System.currentTimeMillis());
+            return new Entry(value, createdAt);
+        } catch (IOException e) {
+            remove(key);
+            return null;
+        }
+    }
+
+    public synchronized boolean contains(String key) {
+        awaitIndex();
+        return entries.containsKey(key);
+    }
+
+    public synchronized void put(String key, String value) {
+        awaitIndex();
+        File file = fileFor(key);
+        File temp = new File(directory, key + ".tmp");
+
+        try (DataOutputStream out = new DataOutputStream(new FileOutputStream(temp))) {
+            out.writeLong(System.currentTimeMillis());
+            GZIPOutputStream gzip = new GZIPOutputStream(out);
+            gzip.write(value.getBytes(StandardCharsets.UTF_8));
+            gzip.finish();
+        } catch (IOException e) {
+            temp.delete();
+            return;
+        }
+
+        Long previous = entries.remove(key);
+        if (previous != null) currentBytes -= previous;
+
+        if (!temp.renameTo(file)) {
+            temp.delete();
+            file.delete();
+            return;
+        }
+
+        entries.put(key, file.length());
+        currentBytes += file.length();
+        trimToSize();
+    }
+
+    public synchronized void remove(String key) {
+        awaitIndex();
+        Long size = entries.remove(key);
+        if (size != null) currentBytes -= size;
+        fileFor(key).delete();
+    }
+
+    public synchronized void clear() {
+        awaitIndex();
+        for (String key : new ArrayList<>(entries.keySet())) {
+            remove(key);
+        }
+    }
+
+    public synchronized void setMaxBytes(long maxBytes) {
+        awaitIndex();
+        this.maxBytes = maxBytes;
+        trimToSize();
+    }
+
+    public synchronized long size() {
+        awaitIndex();
+        return currentBytes;
+    }
+
+    private void trimToSize() {
+        Iterator<Map.Entry<String, Long>> iterator = entries.entrySet().iterator();
+        List<String> evicted = new ArrayList<>();
+        while (currentBytes > maxBytes && iterator.hasNext()) {
+            Map.Entry<String, Long> eldest = iterator.next();
+            currentBytes -= eldest.getValue();
+            evicted.add(eldest.getKey());
+            iterator.remove();
+        }
+        for (String key : evicted) {
+            fileFor(key).delete();
+        }
+    }
+
+    private File fileFor(String key) {
+        return new File(directory, key + SUFFIX);
+    }
+
+    private static byte[] readAll(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            out.write(buffer, 0, read);
+        }
+        return out.toByteArray();
+    }
+
+    public static String sha256(String... parts) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (String part : parts) {
+                digest.update((part == null ? "" : part).getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) 0);
+            }
+            return toHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public static String toHex(byte[] bytes) {
+        StringBuilder hex = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return hex.toString();
+    }
+
+    public static class Entry {
+        private final String value;
+        private final long createdAt;
+
+        Entry(String value, long createdAt) {
+            this.value = value;
+            this.createdAt = createdAt;
+        }
+
+        public String getValue() { return value; }
+        public long getCreatedAt() { return createdAt; }
+    }
+}
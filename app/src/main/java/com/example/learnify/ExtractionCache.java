@@ -0,0 +1,134 @@
+package com.example.learnify;
+
+import android.content.Context;
+import android.database.Cursor;
+import android.net.Uri;
+import android.provider.DocumentsContract;
+import android.provider.OpenableColumns;
+import android.util.Log;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ExtractionCache {
+
+    private static final String TAG = "ExtractionCache";
+    private static final String EXTRACTOR_VERSION = "1";
+    private static final long DEFAULT_MAX_BYTES = 20 * 1024 * 1024;
+    private static final int HASH_BUFFER_SIZE = 64 * 1024;
+
+    private static ExtractionCache instance;
+    private final Context context;
+    private final DiskCache diskCache;
+    private final AtomicInteger hits = new AtomicInteger();
+    private final AtomicInteger misses = new AtomicInteger();
+
+    private ExtractionCache(Context context) {
+        this.context = context.getApplicationContext();
+        File directory = new File(this.context.getCacheDir(), "extraction_cache");
+        diskCache = new DiskCache(directory, DEFAULT_MAX_BYTES);
+    }
+
+    public static synchronized ExtractionCache getInstance(Context context) {
+        if (instance == null) {
+            instance = new ExtractionCache(context);
+        }
+        return instance;
+    }
+
+    public void setMaxBytes(long maxBytes) {
+        diskCache.setMaxBytes(maxBytes);
+    }
+
+    public String getByIdentity(Uri uri) {
+        String identityKey = identityKey(uri);
+        if (identityKey == null) return null;
+
+        DiskCache.Entry link = diskCache.get(identityKey);
+        if (link == null) return null;
+
+        DiskCache.Entry entry = diskCache.get(link.getValue());
+        if (entry == null) {
+            diskCache.remove(identityKey);
+            return null;
+        }
+        hits.incrementAndGet();
+        logStats();
+        return entry.getValue();
+    }
+
+    public String getByContent(Uri uri, String contentKey) {
+        DiskCache.Entry entry = diskCache.get(contentKey);
+        if (entry == null) {
+            misses.incrementAndGet();
+            logStats();
+            return null;
+        }
+        link(uri, contentKey);
+        hits.incrementAndGet();
+        logStats();
+        return entry.getValue();
+    }
+
+    public void put(Uri uri, String contentKey, String text) {
+        if (contentKey == null || text == null || text.isEmpty()) return;
+        diskCache.put(contentKey, text);
+        link(uri, contentKey);
+    }
+
+    public String contentKey(Uri uri) throws IOException {
+        try (InputStream in = context.getContentResolver().openInputStream(uri)) {
+            if (in == null) throw new IOException("Could not open file.");
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] buffer = new byte[HASH_BUFFER_SIZE];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                if (Thread.currentThread().isInterrupted()) throw new InterruptedIOException("Hashing cancelled");
+                digest.update(buffer, 0, read);
+            }
+            return DiskCache.sha256("content", DiskCache.toHex(digest.digest()), EXTRACTOR_VERSION);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void link(Uri uri, String contentKey) {
+        String identityKey = identityKey(uri);
+        if (identityKey != null) diskCache.put(identityKey, contentKey);
+    }
+
+    private String identityKey(Uri uri) {
+        long size = -1;
+        long lastModified = -1;
+        try (Cursor cursor = context.getContentResolver().query(uri, null, null, null, null)) {
+            if (cursor != null && cursor.moveToFirst()) {
+                int sizeIndex = cursor.getColumnIndex(OpenableColumns.SIZE);
+                if (sizeIndex >= 0 && !cursor.isNull(sizeIndex)) size = cursor.getLong(sizeIndex);
+                int modifiedIndex = cursor.getColumnIndex(DocumentsContract.Document.COLUMN_LAST_MODIFIED);
+                if (modifiedIndex >= 0 && !cursor.isNull(modifiedIndex)) lastModified = cursor.getLong(modifiedIndex);
+            }
+        } catch (Exception e) {
+            return null;
+        }
+        if (size < 0 || lastModified <= 0) return null;
+        return DiskCache.sha256("identity", uri.toString(), String.valueOf(size), String.valueOf(lastModified), EXTRACTOR_VERSION);
+    }
+
+    public int getHitCount() {
+        return hits.get();
+    }
+
+    public int getMissCount() {
+        return misses.get();
+    }
+
+    private void logStats() {
+        Log.d(TAG, String.format(Locale.ROOT, "hits=%d misses=%d size=%dB", hits.get(), misses.get(), diskCache.size()));
+    }
+}
@@ -3,47 +3,104 @@ package com.example.learnify;
 import android.content.Context;
 import android.database.Cursor;
 import android.net.Uri;
-import android.os.Handler;
-import android.os.Looper;
 import android.provider.OpenableColumns;
+import android.util.Log;
 
-import com.google.mlkit.vision.common.InputImage;
-import com.google.mlkit.vision.text.TextRecognition;
-import com.google.mlkit.vision.text.TextRecognizer;
-import com.google.mlkit.vision.text.latin.TextRecognizerOptions;
 import com.tom_roush.pdfbox.android.PDFBoxResourceLoader;
 import com.tom_roush.pdfbox.pdmodel.PDDocument;
-import com.tom_roush.pdfbox.text.PDFTextStripper;
 
-import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 
 public class FileExtractor {
 
+    private static final String TAG = "FileExtractor";
+
     private final Context context;
     private final ExecutorService executor;
-    private final Handler mainHandler;
+    private final AppExecutors.MainThread mainThread;
     private static final long MAX_FILE_SIZE = 10 * 1024 * 1024;
+    private static final long MAX_STREAMED_FILE_SIZE = 100 * 1024 * 1024;
+    private static final long MAX_PDF_HEAP_BYTES = 16 * 1024 * 1024;
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+    private static final int OCR_DPI = 200;
+    private static final int OCR_PIPELINE_DEPTH = 1;
+
+    private final PdfTextExtractor pdfExtractor = new PdfTextExtractor();
+    private final ScaledBitmapDecoder bitmapDecoder;
+    private final PlainTextReader textReader = new PlainTextReader();
+    private final ImageBatchExtractor imageBatchExtractor;
+    private final ExtractionCache extractionCache;
+    private volatile boolean ocrFallbackEnabled = true;
 
     public FileExtractor(Context context) {
         this.context = context;
-        this.executor = Executors.newSingleThreadExecutor();
-        this.mainHandler = new Handler(Looper.getMainLooper());
+        this.executor = AppExecutors.getInstance().io();
+        this.mainThread = AppExecutors.getInstance().mainThread();
+        this.bitmapDecoder = new ScaledBitmapDecoder(context);
+        this.imageBatchExtractor = new ImageBatchExtractor(context, bitmapDecoder);
+        this.extractionCache = ExtractionCache.getInstance(context);
         PDFBoxResourceLoader.init(context);
+        setPdfMemoryBudget(Math.min(MAX_PDF_HEAP_BYTES, Runtime.getRuntime().maxMemory() / 8));
+    }
+
+    public void setPdfMemoryBudget(long mainMemoryBytes) {
+        pdfExtractor.setMemoryBudget(mainMemoryBytes, context.getCacheDir());
+    }
+
+    public void setPageWindow(int pageWindow) {
+        pdfExtractor.setPageWindow(pageWindow);
+    }
+
+    public void setMaxPages(int maxPages) {
+        pdfExtractor.setMaxPages(maxPages);
+    }
+
+    public void setWorkerCount(int workerCount) {
+        pdfExtractor.setWorkerCount(workerCount);
+    }
+
+    public void setMaxImageDimension(int maxDimension) {
+        bitmapDecoder.setMaxDimension(maxDimension);
+    }
+
+    public void setTextCharBudget(int charBudget) {
+        textReader.setCharBudget(charBudget);
+    }
+
+    public void setTextSampling(boolean sampling) {
+        textReader.setSampling(sampling);
     }
 
-    public void extractText(Uri uri, ExtractionCallback callback) {
-        executor.execute(() -> {
+    public void setOcrFallbackEnabled(boolean enabled) {
+        this.ocrFallbackEnabled = enabled;
+    }
+
+    public void setExtractionCacheSize(long maxBytes) {
+        extractionCache.setMaxBytes(maxBytes);
+    }
+
+    public void release() {
+        bitmapDecoder.clear();
+    }
+
+    public CancellableTask extractText(Uri uri, ExtractionCallback callback) {
+        CancellableTask task = new CancellableTask();
+        ExtractionCallback delivery = guard(task, callback);
+        task.setFuture(executor.submit(() -> {
             try {
-                if (getFileSize(uri) > MAX_FILE_SIZE) {
-                    mainHandler.post(() -> callback.onError(new Exception("File is too large (>10MB).")));
+                String cached = extractionCache.getByIdentity(uri);
+                if (cached != null) {
+                    mainThread.execute(() -> delivery.onSuccess(cached));
                     return;
                 }
+                mainThread.execute(delivery::onExtractionStarted);
 
                 String mimeType = context.getContentResolver().getType(uri);
                 if (mimeType == null) {
@@ -53,45 +110,186 @@ public class FileExtractor {
                     else if (name.endsWith(".jpg") || name.endsWith(".png") || name.endsWith(".jpeg")) mimeType = "image/jpeg";
                 }
 
+                boolean streamed = "application/pdf".equals(mimeType) || "text/plain".equals(mimeType);
+                long maxSize = streamed ? MAX_STREAMED_FILE_SIZE : MAX_FILE_SIZE;
+                if (getFileSize(uri) > maxSize) {
+                    long maxMb = maxSize / (1024 * 1024);
+                    mainThread.execute(() -> delivery.onError(new Exception("File is too large (>" + maxMb + "MB).")));
+                    return;
+                }
+
+                String contentKey = null;
+                if (mimeType != null) {
+                    contentKey = extractionCache.contentKey(uri);
+                    String cachedContent = extractionCache.getByContent(uri, contentKey);
+                    if (cachedContent != null) {
+                        mainThread.execute(() -> delivery.onSuccess(cachedContent));
+                        return;
+                    }
+                }
+                ExtractionCallback caching = cachingCallback(task, uri, contentKey, delivery);
+
                 if (mimeType != null) {
                     if (mimeType.equals("application/pdf")) {
-                        extractPdf(uri, callback);
+                        extractPdf(uri, caching);
                     } else if (mimeType.startsWith("image/")) {
-                        extractImage(uri, callback);
+                        extractImage(uri, caching);
                     } else if (mimeType.equals("text/plain")) {
-                        extractTxt(uri, callback);
+                        extractTxt(uri, caching);
                     } else {
-                        mainHandler.post(() -> callback.onError(new Exception("Unsupported file type. Please use PDF, Image, or Text.")));
+                        mainThread.execute(() -> delivery.onError(new Exception("Unsupported file type. Please use PDF, Image, or Text.")));
                     }
                 } else {
-                    mainHandler.post(() -> callback.onError(new Exception("Could not determine file type.")));
+                    mainThread.execute(() -> delivery.onError(new Exception("Could not determine file type.")));
                 }
 
             } catch (Exception e) {
-                mainHandler.post(() -> callback.onError(e));
+                mainThread.execute(() -> delivery.onError(e));
             }
-        });
+        }));
+        return task;
+    }
+
+    public CancellableTask extractImages(List<Uri> uris, ExtractionCallback callback) {
+        CancellableTask task = new CancellableTask();
+        ExtractionCallback delivery = guard(task, callback);
+        task.setFuture(executor.submit(() -> {
+            try {
+                for (Uri uri : uris) {
+                    if (getFileSize(uri) > MAX_FILE_SIZE) {
+                        mainThread.execute(() -> delivery.onError(new Exception("File is too large (>10MB).")));
+                        return;
+                    }
+                }
+
+                int[] done = {0};
+                ImageBatchExtractor.Result batch = imageBatchExtractor.extract(uris, new ImageBatchExtractor.BatchListener() {
+                    @Override
+                    public void onImage(int index, int total, ImageBatchExtractor.ImageStatus status) {
+                        int imagesDone = ++done[0];
+                        mainThread.execute(() -> delivery.onProgress(imagesDone, total));
+                    }
+
+                    @Override
+                    public void onText(String text, int index, int total) {
+                        mainThread.execute(() -> delivery.onPages(text + "\n\n", index + 1, index + 1, total));
+                    }
+                });
+
+                List<Integer> duplicates = batch.getDuplicates();
+                if (!duplicates.isEmpty()) {
+                    mainThread.execute(() -> delivery.onImagesSkipped(duplicates, uris.size()));
+                }
+
+                String result = normalize(batch.getText()).trim();
+                if (result.isEmpty()) {
+                    mainThread.execute(() -> delivery.onError(new Exception("No text found in images.")));
+                } else {
+                    mainThread.execute(() -> delivery.onSuccess(result));
+                }
+            } catch (Exception e) {
+                mainThread.execute(() -> delivery.onError(e));
+            } finally {
+                bitmapDecoder.clear();
+            }
+        }));
+        return task;
+    }
+
+    private ExtractionCallback cachingCallback(CancellableTask task, Uri uri, String contentKey, ExtractionCallback callback) {
+        return new ForwardingCallback(callback) {
+            @Override
+            public void onSuccess(String text) {
+                if (!task.isCancelled()) executor.execute(() -> extractionCache.put(uri, contentKey, text));
+                super.onSuccess(text);
+            }
+        };
+    }
+
+    private static ExtractionCallback guard(CancellableTask task, ExtractionCallback callback) {
+        return new ForwardingCallback(callback) {
+            @Override
+            public void onSuccess(String text) {
+                if (task.isCancelled()) return;
+                task.finish();
+                super.onSuccess(text);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                if (task.isCancelled()) return;
+                task.finish();
+                super.onError(t);
+            }
+
+            @Override
+            public void onExtractionStarted() {
+                if (!task.isCancelled()) super.onExtractionStarted();
+            }
+
+            @Override
+            public void onPages(String text, int firstPage, int lastPage, int totalPages) {
+                if (!task.isCancelled()) super.onPages(text, firstPage, lastPage, totalPages);
+            }
+
+            @Override
+            public void onProgress(int pagesDone, int totalPages) {
+                if (task.isCancelled()) return;
+                float fraction = task.setProgress(pagesDone, totalPages);
+                super.onProgress(pagesDone, totalPages);
+                super.onProgress(fraction);
+            }
+
+            @Override
+            public void onProgress(float fraction) {
+                if (!task.isCancelled()) super.onProgress(fraction);
+            }
+
+            @Override
+            public void onImageTimings(long decodeMs, long recognitionMs) {
+                if (!task.isCancelled()) super.onImageTimings(decodeMs, recognitionMs);
+            }
+        };
     }
 
     private void extractPdf(Uri uri, ExtractionCallback callback) {
-        PDDocument document = null;
-        InputStream inputStream = null;
-        try {
-            inputStream = context.getContentResolver().openInputStream(uri);
-            document = PDDocument.load(inputStream);
+        PdfTextExtractor.PageListener listener = (pages, firstPage, lastPage, totalPages) -> mainThread.execute(() -> {
+            callback.onPages(pages, firstPage, lastPage, totalPages);
+            callback.onProgress(lastPage, totalPages);
+        });
 
-            PDFTextStripper stripper = new PDFTextStripper();
-            stripper.setEndPage(30);
+        try {
+            PdfTextExtractor.Extraction extraction = pdfExtractor.getWorkerCount() > 1
+                    ? extractPdfParallel(uri, listener)
+                    : extractPdfSequential(uri, listener);
 
-            String text = stripper.getText(document);
+            List<Integer> textless = extraction.getTextlessPages();
+            if (ocrFallbackEnabled && !textless.isEmpty()) {
+                try {
+                    recognizePages(uri, extraction, textless);
+                } catch (Exception e) {
+                    if (extraction.getText().trim().isEmpty()) throw e;
+                }
+            }
 
-            if (text == null || text.trim().isEmpty()) {
-                mainHandler.post(() -> callback.onError(new Exception("PDF appears empty or is a scan. Try Image option.")));
+            String result = normalize(extraction.getText()).trim();
+            if (result.isEmpty()) {
+                mainThread.execute(() -> callback.onError(new Exception("No readable text found in this PDF.")));
             } else {
-                mainHandler.post(() -> callback.onSuccess(text.trim()));
+                mainThread.execute(() -> callback.onSuccess(result));
             }
         } catch (Exception e) {
-            mainHandler.post(() -> callback.onError(e));
+            mainThread.execute(() -> callback.onError(e));
+        }
+    }
+
+    private PdfTextExtractor.Extraction extractPdfSequential(Uri uri, PdfTextExtractor.PageListener listener) throws IOException {
+        PDDocument document = null;
+        InputStream inputStream = null;
+        try {
+            inputStream = context.getContentResolver().openInputStream(uri);
+            document = pdfExtractor.load(inputStream);
+            return pdfExtractor.extractSequential(document, listener);
         } finally {
             try {
                 if (document != null) document.close();
@@ -102,42 +300,84 @@ public class FileExtractor {
         }
     }
 
+    private PdfTextExtractor.Extraction extractPdfParallel(Uri uri, PdfTextExtractor.PageListener listener) throws IOException {
+        File copy = File.createTempFile("extract_", ".pdf", context.getCacheDir());
+        try {
+            try (InputStream in = context.getContentResolver().openInputStream(uri);
+                 OutputStream out = new FileOutputStream(copy)) {
+                if (in == null) throw new IOException("Could not open file.");
+                byte[] buffer = new byte[COPY_BUFFER_SIZE];
+                int read;
+                while ((read = in.read(buffer)) != -1) {
+                    out.write(buffer, 0, read);
+                }
+            }
+            return pdfExtractor.extract(copy, listener);
+        } finally {
+            if (!copy.delete()) copy.deleteOnExit();
+        }
+    }
+
+    private void recognizePages(Uri uri, PdfTextExtractor.Extraction extraction, List<Integer> pages) throws Exception {
+        try (PdfPageRenderer renderer = new PdfPageRenderer(context, uri, OCR_DPI);
+             MlKitPageRecognizer recognizer = new MlKitPageRecognizer()) {
+            new OcrPipeline<>(renderer, recognizer, OCR_PIPELINE_DEPTH).run(pages,
+                    (pageIndex, text) -> extraction.setPageText(pageIndex, text + "\n"));
+        }
+    }
+
     private void extractTxt(Uri uri, ExtractionCallback callback) {
-        try (InputStream inputStream = context.getContentResolver().openInputStream(uri);
-             BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream))) {
+        try (InputStream inputStream = context.getContentResolver().openInputStream(uri)) {
+            if (inputStream == null) throw new IOException("Could not open file.");
 
-            StringBuilder text = new StringBuilder();
-            String line;
-            while ((line = reader.readLine()) != null) {
-                text.append(line).append("\n");
-            }
-            mainHandler.post(() -> callback.onSuccess(text.toString().trim()));
+            PlainTextReader.Result text = textReader.read(inputStream, getFileSize(uri));
+            Log.d(TAG, "Read text as " + text.getCharset() + (text.isSampled() ? ", sampled" : text.isTruncated() ? ", truncated" : ""));
+
+            String result = normalize(text.getText()).trim();
+            mainThread.execute(() -> callback.onSuccess(result));
         } catch (Exception e) {
-            mainHandler.post(() -> callback.onError(e));
+            mainThread.execute(() -> callback.onError(e));
         }
     }
 
     private void extractImage(Uri uri, ExtractionCallback callback) {
-        try {
-            InputImage image = InputImage.fromFilePath(context, uri);
+        ScaledBitmapDecoder.Decoded decoded = null;
+        try (MlKitPageRecognizer recognizer = new MlKitPageRecognizer()) {
+            long decodeStart = System.nanoTime();
+            try {
+                decoded = bitmapDecoder.decode(uri);
+            } catch (IOException e) {
+                mainThread.execute(() -> callback.onError(new Exception("Failed to load image: " + e.getMessage())));
+                return;
+            }
+            long decodeMs = (System.nanoTime() - decodeStart) / 1_000_000;
+
+            long recognizeStart = System.nanoTime();
+            String result = normalize(recognizer.recognize(decoded.getBitmap(), decoded.getRotationDegrees())).trim();
+            long recognizeMs = (System.nanoTime() - recognizeStart) / 1_000_000;
 
-            TextRecognizer recognizer = TextRecognition.getClient(TextRecognizerOptions.DEFAULT_OPTIONS);
+            Log.d(TAG, "Image OCR: decode " + decodeMs + "ms, recognition " + recognizeMs + "ms");
+            mainThread.execute(() -> callback.onImageTimings(decodeMs, recognizeMs));
 
-            recognizer.process(image)
-                    .addOnSuccessListener(visionText -> {
-                        String result = visionText.getText();
-                        if (result.isEmpty()) {
-                            callback.onError(new Exception("No text found in image."));
-                        } else {
-                            callback.onSuccess(result);
-                        }
-                    })
-                    .addOnFailureListener(callback::onError);
-        } catch (IOException e) {
-            mainHandler.post(() -> callback.onError(new Exception("Failed to load image: " + e.getMessage())));
+            if (result.isEmpty()) {
+                mainThread.execute(() -> callback.onError(new Exception("No text found in image.")));
+            } else {
+                mainThread.execute(() -> callback.onSuccess(result));
+            }
+        } catch (Exception e) {
+            mainThread.execute(() -> callback.onError(e));
+        } finally {
+            if (decoded != null) bitmapDecoder.release(decoded.getBitmap());
+            bitmapDecoder.clear();
         }
     }
 
+    private String normalize(String text) {
+        TextNormalizer.Result normalized = TextNormalizer.forDocuments().normalize(text);
+        Log.d(TAG, "Normalized text: saved " + normalized.getSavedChars() + " of " + normalized.getOriginalChars() + " chars");
+        return normalized.getText();
+    }
+
     private long getFileSize(Uri uri) {
         try (Cursor cursor = context.getContentResolver().query(uri, null, null, null, null)) {
             if (cursor != null && cursor.moveToFirst()) {
@@ -168,5 +408,65 @@ public class FileExtractor {
     public interface ExtractionCallback {
         void onSuccess(String text);
         void onError(Throwable t);
+
+        default void onExtractionStarted() {}
+
+        default void onPages(String text, int firstPage, int lastPage, int totalPages) {}
+
+        default void onProgress(int pagesDone, int totalPages) {}
+
+        default void onProgress(float fraction) {}
+
+        default void onImageTimings(long decodeMs, long recognitionMs) {}
+
+        default void onImagesSkipped(List<Integer> duplicates, int totalImages) {}
+    }
+
+    private static class ForwardingCallback implements ExtractionCallback {
+        private final ExtractionCallback delegate;
+
+        ForwardingCallback(ExtractionCallback delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void onSuccess(String text) {
+            delegate.onSuccess(text);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            delegate.onError(t);
+        }
+
+        @Override
+        public void onExtractionStarted() {
+            delegate.onExtractionStarted();
+        }
+
+        @Override
+        public void onPages(String text, int firstPage, int lastPage, int totalPages) {
+            delegate.onPages(text, firstPage, lastPage, totalPages);
+        }
+
+        @Override
+        public void onProgress(int pagesDone, int totalPages) {
+            delegate.onProgress(pagesDone, totalPages);
+        }
+
+        @Override
+        public void onProgress(float fraction) {
+            delegate.onProgress(fraction);
+        }
+
+        @Override
+        public void onImageTimings(long decodeMs, long recognitionMs) {
+            delegate.onImageTimings(decodeMs, recognitionMs);
+        }
+
+        @Override
+        public void onImagesSkipped(List<Integer> duplicates, int totalImages) {
+            delegate.onImagesSkipped(duplicates, totalImages);
+        }
     }
 }
\ No newline at end of file
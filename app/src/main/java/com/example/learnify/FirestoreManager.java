@@ -145,6 +145,14 @@ public class FirestoreManager {
         batch.commit().addOnFailureListener(e -> Log.e(TAG, "Error saving quiz to cloud", e));
     }
 
+    public void updateQuizResult(String historyId, QuizResult fullResult) {
+        if (FirebaseAuth.getInstance().getUid() == null) return;
+
+        db.collection("quiz_history").document(historyId)
+                .update("quizData_json", gson.toJson(fullResult))
+                .addOnFailureListener(e -> Log.e(TAG, "Error updating quiz in cloud", e));
+    }
+
     public void getAllQuizHistory(String uid, OnHistoryLoadedListener listener) {
         db.collection("quiz_history")
                 .whereEqualTo("uid", uid)
@@ -0,0 +1,88 @@
+package com.example.learnify;
+
+import com.google.ai.client.generativeai.GenerativeModel;
+import com.google.ai.client.generativeai.java.GenerativeModelFutures;
+import com.google.ai.client.generativeai.type.Content;
+import com.google.ai.client.generativeai.type.GenerateContentResponse;
+import com.google.ai.client.generativeai.type.GenerationConfig;
+import com.google.ai.client.generativeai.type.Schema;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+public class GeminiBackend implements QuizModelBackend {
+
+    private static final String MODEL_NAME = "gemini-2.0-flash";
+
+    private final GenerativeModelFutures textModel;
+    private final GenerativeModelFutures quizModel;
+
+    public GeminiBackend(String apiKey) {
+        this.textModel = GenerativeModelFutures.from(new GenerativeModel(MODEL_NAME, apiKey));
+        this.quizModel = GenerativeModelFutures.from(new GenerativeModel(MODEL_NAME, apiKey, quizConfig()));
+    }
+
+    private static GenerationConfig quizConfig() {
+        Schema<?> answer = Schema.obj("answer", "One answer option",
+                Schema.str("answerText", "The answer text"),
+                Schema.bool("isCorrect", "Whether this is the correct answer"));
+        Schema<?> question = Schema.obj("question", "A multiple-choice question",
+                Schema.str("questionText", "The question text"),
+                Schema.str("explanation", "Why the correct answer is right"),
+                Schema.arr("answers", "Exactly 4 answer options", answer));
+        Schema<?> quiz = Schema.obj("quiz", "A generated quiz",
+                Schema.str("topic", "Short descriptive title, max 5 words"),
+                Schema.arr("questions", "The quiz questions", question));
+
+        GenerationConfig.Builder builder = new GenerationConfig.Builder();
+        builder.responseMimeType = "application/json";
+        builder.responseSchema = quiz;
+        return builder.build();
+    }
+
+    private GenerativeModelFutures model(Format format) {
+        return format == Format.QUIZ_JSON ? quizModel : textModel;
+    }
+
+    private static Content content(String prompt) {
+        return new Content.Builder()
+                .addText(prompt)
+                .build();
+    }
+
+    @Override
+    public ListenableFuture<String> generate(String prompt, Format format) {
+        ListenableFuture<GenerateContentResponse> responseFuture = model(format).generateContent(content(prompt));
+        return Futures.transform(responseFuture, GenerateContentResponse::getText, MoreExecutors.directExecutor());
+    }
+
+    @Override
+    public Publisher<String> generateStream(String prompt, Format format) {
+        Publisher<GenerateContentResponse> stream = model(format).generateContentStream(content(prompt));
+        return subscriber -> stream.subscribe(new Subscriber<GenerateContentResponse>() {
+            @Override
+            public void onSubscribe(Subscription subscription) {
+                subscriber.onSubscribe(subscription);
+            }
+
+            @Override
+            public void onNext(GenerateContentResponse chunk) {
+                subscriber.onNext(chunk.getText());
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                subscriber.onError(t);
+            }
+
+            @Override
+            public void onComplete() {
+                subscriber.onComplete();
+            }
+        });
+    }
+}
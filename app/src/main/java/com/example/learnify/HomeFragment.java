@@ -2,6 +2,7 @@ package com.example.learnify;
 
 import android.app.Activity;
 import android.app.AlertDialog;
+import android.content.ClipData;
 import android.content.Intent;
 import android.graphics.Color;
 import android.graphics.drawable.ColorDrawable;
@@ -10,6 +11,7 @@ import android.os.Bundle;
 import android.os.Handler;
 import android.os.Looper;
 import android.text.Editable;
+import android.text.TextUtils;
 import android.text.TextWatcher;
 import android.view.LayoutInflater;
 import android.view.View;
@@ -18,6 +20,7 @@ import android.widget.Button;
 import android.widget.ImageButton;
 import android.widget.LinearLayout;
 import android.widget.TextView;
+import android.widget.Toast;
 
 import androidx.activity.result.ActivityResultLauncher;
 import androidx.activity.result.contract.ActivityResultContracts;
@@ -60,13 +63,24 @@ public class HomeFragment extends Fragment {
     private boolean isOptionsVisible = false;
     private Runnable hideErrorRunnable;
     private boolean isProcessing = false;
+    private CancellableTask pendingTask;
+    private boolean pendingTaskHandedOff;
 
     private final ActivityResultLauncher<Intent> filePickerLauncher = registerForActivityResult(
             new ActivityResultContracts.StartActivityForResult(),
             result -> {
                 if (result.getResultCode() == Activity.RESULT_OK && result.getData() != null) {
+                    ClipData clipData = result.getData().getClipData();
                     Uri uri = result.getData().getData();
-                    if (uri != null) {
+                    if (clipData != null && clipData.getItemCount() > 1) {
+                        List<Uri> uris = new ArrayList<>();
+                        for (int i = 0; i < clipData.getItemCount(); i++) {
+                            uris.add(clipData.getItemAt(i).getUri());
+                        }
+                        processImages(uris);
+                    } else if (clipData != null && clipData.getItemCount() == 1) {
+                        processDocument(clipData.getItemAt(0).getUri());
+                    } else if (uri != null) {
                         processDocument(uri);
                     } else {
                         isProcessing = false;
@@ -93,7 +107,7 @@ public class HomeFragment extends Fragment {
         quizDatabase = QuizDatabase.getInstance(requireContext());
 
         fileExtractor = new FileExtractor(requireContext());
-        youTubeHelper = new YouTubeHelper();
+        youTubeHelper = new YouTubeHelper(requireContext());
 
         youtubeOptionsContainer = view.findViewById(R.id.ll_youtube_options);
         youtubeUrlInput = view.findViewById(R.id.til_youtube_url);
@@ -121,9 +135,23 @@ public class HomeFragment extends Fragment {
         super.onResume();
         isProcessing = false;
         progressBar.setVisibility(View.GONE);
+        progressBar.setIndeterminate(true);
         loadRecentQuizzes();
     }
 
+    @Override
+    public void onDestroyView() {
+        if (!pendingTaskHandedOff) cancelPendingTask();
+        fileExtractor.release();
+        super.onDestroyView();
+    }
+
+    private void cancelPendingTask() {
+        if (pendingTask != null) pendingTask.cancel();
+        pendingTask = null;
+        pendingTaskHandedOff = false;
+    }
+
     private void setupQuizCreationButtons(View view) {
         View createFromDocButton = view.findViewById(R.id.btn_create_from_document);
         View createFromYtButton = view.findViewById(R.id.btn_generate_from_youtube);
@@ -133,12 +161,12 @@ public class HomeFragment extends Fragment {
             if (isProcessing) return;
             checkNetworkAndProceed(() -> {
                 isProcessing = true;
-                progressBar.setVisibility(View.VISIBLE);
                 Intent intent = new Intent(Intent.ACTION_OPEN_DOCUMENT);
                 intent.addCategory(Intent.CATEGORY_OPENABLE);
                 intent.setType("*/*");
                 String[] mimetypes = {"application/pdf", "image/*", "text/plain"};
                 intent.putExtra(Intent.EXTRA_MIME_TYPES, mimetypes);
+                intent.putExtra(Intent.EXTRA_ALLOW_MULTIPLE, true);
                 filePickerLauncher.launch(intent);
             });
         });
@@ -195,16 +223,40 @@ public class HomeFragment extends Fragment {
     }
 
     private void processDocument(Uri uri) {
-        progressBar.setVisibility(View.VISIBLE);
-        fileExtractor.extractText(uri, new FileExtractor.ExtractionCallback() {
+        cancelPendingTask();
+        QuizDataHolder dataHolder = QuizDataHolder.getInstance();
+        long extractionId = dataHolder.beginExtraction();
+        String sourceData = "File: " + getFileName(uri);
+
+        pendingTask = fileExtractor.extractText(uri, new FileExtractor.ExtractionCallback() {
+            private boolean handedOff;
+
+            @Override
+            public void onExtractionStarted() {
+                if (isAdded()) progressBar.setVisibility(View.VISIBLE);
+            }
+
+            @Override
+            public void onPages(String text, int firstPage, int lastPage, int totalPages) {
+                if (!handedOff && isAdded() && lastPage < totalPages && !text.trim().isEmpty()) {
+                    handedOff = true;
+                    pendingTaskHandedOff = true;
+                    launchQuizConfig("DOCUMENT", sourceData);
+                }
+            }
+
             @Override
             public void onSuccess(String text) {
-                QuizDataHolder.getInstance().setExtractedText(text);
-                launchQuizConfig("DOCUMENT", "File: " + getFileName(uri));
+                pendingTask = null;
+                dataHolder.completeExtraction(extractionId, text);
+                if (!handedOff && isAdded()) launchQuizConfig("DOCUMENT", sourceData);
             }
 
             @Override
             public void onError(Throwable t) {
+                pendingTask = null;
+                dataHolder.failExtraction(extractionId, t);
+                if (handedOff || !isAdded()) return;
                 isProcessing = false;
                 progressBar.setVisibility(View.GONE);
                 showErrorDialog("File Error", "Could not read this file. Please try a standard PDF or Image.");
@@ -212,21 +264,82 @@ public class HomeFragment extends Fragment {
         });
     }
 
+    private void processImages(List<Uri> uris) {
+        cancelPendingTask();
+        progressBar.setVisibility(View.VISIBLE);
+        QuizDataHolder dataHolder = QuizDataHolder.getInstance();
+        long extractionId = dataHolder.beginExtraction();
+        String sourceData = "Images: " + uris.size() + " photos";
+
+        pendingTask = fileExtractor.extractImages(uris, new FileExtractor.ExtractionCallback() {
+            private boolean handedOff;
+
+            @Override
+            public void onPages(String text, int firstPage, int lastPage, int totalPages) {
+                if (!handedOff && isAdded() && lastPage < totalPages && !text.trim().isEmpty()) {
+                    handedOff = true;
+                    pendingTaskHandedOff = true;
+                    launchQuizConfig("DOCUMENT", sourceData);
+                }
+            }
+
+            @Override
+            public void onProgress(int imagesDone, int totalImages) {
+                if (handedOff || !isAdded()) return;
+                progressBar.setIndeterminate(false);
+                progressBar.setProgressCompat(imagesDone * 100 / totalImages, true);
+            }
+
+            @Override
+            public void onImagesSkipped(List<Integer> duplicates, int totalImages) {
+                if (!isAdded()) return;
+                Toast.makeText(requireContext(), duplicates.size() + " of " + totalImages + " photos were duplicates and were skipped.", Toast.LENGTH_LONG).show();
+            }
+
+            @Override
+            public void onSuccess(String text) {
+                pendingTask = null;
+                dataHolder.completeExtraction(extractionId, text);
+                if (!handedOff && isAdded()) launchQuizConfig("DOCUMENT", sourceData);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                pendingTask = null;
+                dataHolder.failExtraction(extractionId, t);
+                if (handedOff || !isAdded()) return;
+                isProcessing = false;
+                progressBar.setVisibility(View.GONE);
+                progressBar.setIndeterminate(true);
+                showErrorDialog("Image Error", "Could not read these images. Select one document, or several photos.");
+            }
+        });
+    }
+
     private void processYouTube(String url) {
+        cancelPendingTask();
+        List<String> urls = YouTubeHelper.splitUrls(url);
+        if (urls.size() > 1 || YouTubeHelper.isPlaylistUrl(url)) {
+            processYouTubeBatch(urls);
+            return;
+        }
+
         progressBar.setVisibility(View.VISIBLE);
         if (!url.startsWith("http://") && !url.startsWith("https://")) {
             url = "https://" + url;
         }
 
-        youTubeHelper.getTranscript(url, new YouTubeHelper.TranscriptCallback() {
+        pendingTask = youTubeHelper.getTranscript(url, new YouTubeHelper.TranscriptCallback() {
             @Override
             public void onSuccess(String transcriptText, String videoId) {
+                pendingTask = null;
                 QuizDataHolder.getInstance().setExtractedText(transcriptText);
                 launchQuizConfig("YOUTUBE", "https://youtu.be/" + videoId);
             }
 
             @Override
             public void onError(Throwable t) {
+                pendingTask = null;
                 isProcessing = false;
                 progressBar.setVisibility(View.GONE);
                 showErrorDialog("YouTube Error", "Could not get video info. Ensure video has captions.");
@@ -234,6 +347,43 @@ public class HomeFragment extends Fragment {
         });
     }
 
+    private void processYouTubeBatch(List<String> urls) {
+        progressBar.setVisibility(View.VISIBLE);
+        String sourceData = TextUtils.join(", ", urls);
+
+        pendingTask = youTubeHelper.getTranscripts(urls, new YouTubeHelper.BatchCallback() {
+            @Override
+            public void onProgress(float fraction) {
+                if (!isAdded()) return;
+                progressBar.setIndeterminate(false);
+                progressBar.setProgressCompat(Math.round(fraction * 100), true);
+            }
+
+            @Override
+            public void onSuccess(String combinedText, List<YouTubeHelper.VideoResult> results) {
+                pendingTask = null;
+                int failed = 0;
+                for (YouTubeHelper.VideoResult result : results) {
+                    if (!result.isSuccessful()) failed++;
+                }
+                if (failed > 0 && isAdded()) {
+                    Toast.makeText(requireContext(), failed + " of " + results.size() + " videos had no captions and were skipped.", Toast.LENGTH_LONG).show();
+                }
+                QuizDataHolder.getInstance().setExtractedText(combinedText);
+                launchQuizConfig("YOUTUBE", sourceData);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                pendingTask = null;
+                isProcessing = false;
+                progressBar.setVisibility(View.GONE);
+                progressBar.setIndeterminate(true);
+                showErrorDialog("YouTube Error", "Could not get captions for these videos. Ensure they have captions.");
+            }
+        });
+    }
+
     private void launchQuizConfig(String type, String dataName) {
         Intent intent = new Intent(requireActivity(), QuizActivity.class);
         intent.putExtra("SOURCE_TYPE", type);
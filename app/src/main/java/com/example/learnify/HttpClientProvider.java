@@ -0,0 +1,169 @@
+package com.example.learnify;
+
+import android.content.Context;
+import android.util.Log;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.Cache;
+import okhttp3.Call;
+import okhttp3.ConnectionPool;
+import okhttp3.EventListener;
+import okhttp3.Handshake;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Response;
+
+public class HttpClientProvider {
+
+    private static final String TAG = "HttpClientProvider";
+    private static final long CACHE_BYTES = 10 * 1024 * 1024;
+    private static final int MAX_IDLE_CONNECTIONS = 5;
+    private static final long KEEP_ALIVE_MINUTES = 5;
+    private static final long CONNECT_TIMEOUT_SECONDS = 10;
+    private static final long READ_TIMEOUT_SECONDS = 30;
+    private static final long WRITE_TIMEOUT_SECONDS = 15;
+    private static final long CALL_TIMEOUT_SECONDS = 90;
+
+    public static final String DNS = "dns";
+    public static final String CONNECT = "connect";
+    public static final String TLS = "tls";
+    public static final String TTFB = "ttfb";
+    public static final String TOTAL = "total";
+
+    private static HttpClientProvider instance;
+    private final OkHttpClient client;
+    private final Map<String, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+
+    private HttpClientProvider(Context context) {
+        File directory = new File(context.getApplicationContext().getCacheDir(), "http");
+        client = new OkHttpClient.Builder()
+                .cache(new Cache(directory, CACHE_BYTES))
+                .connectionPool(new ConnectionPool(MAX_IDLE_CONNECTIONS, KEEP_ALIVE_MINUTES, TimeUnit.MINUTES))
+                .protocols(Arrays.asList(Protocol.HTTP_2, Protocol.HTTP_1_1))
+                .connectTimeout(CONNECT_TIMEOUT_SECONDS, TimeUnit.SECONDS)
+                .readTimeout(READ_TIMEOUT_SECONDS, TimeUnit.SECONDS)
+                .writeTimeout(WRITE_TIMEOUT_SECONDS, TimeUnit.SECONDS)
+                .callTimeout(CALL_TIMEOUT_SECONDS, TimeUnit.SECONDS)
+                .eventListenerFactory(call -> new TimingListener())
+                .build();
+    }
+
+    public static synchronized HttpClientProvider getInstance(Context context) {
+        if (instance == null) {
+            instance = new HttpClientProvider(context);
+        }
+        return instance;
+    }
+
+    public OkHttpClient getClient() {
+        return client;
+    }
+
+    public LatencyHistogram getHistogram(String phase) {
+        return histogram(phase);
+    }
+
+    private LatencyHistogram histogram(String phase) {
+        return histograms.computeIfAbsent(phase, k -> new LatencyHistogram());
+    }
+
+    private void record(String phase, long startNanos, long endNanos) {
+        if (startNanos == 0 || endNanos < startNanos) return;
+        histogram(phase).record((endNanos - startNanos) / 1_000_000);
+    }
+
+    private static long millis(long startNanos, long endNanos) {
+        return startNanos == 0 || endNanos < startNanos ? -1 : (endNanos - startNanos) / 1_000_000;
+    }
+
+    private class TimingListener extends EventListener {
+        private long callStart;
+        private long dnsStart;
+        private long dnsEnd;
+        private long connectStart;
+        private long connectEnd;
+        private long tlsStart;
+        private long tlsEnd;
+        private long firstByte;
+        private boolean cacheHit;
+
+        @Override
+        public void callStart(Call call) {
+            callStart = System.nanoTime();
+        }
+
+        @Override
+        public void dnsStart(Call call, String domainName) {
+            dnsStart = System.nanoTime();
+        }
+
+        @Override
+        public void dnsEnd(Call call, String domainName, List<InetAddress> inetAddressList) {
+            dnsEnd = System.nanoTime();
+        }
+
+        @Override
+        public void connectStart(Call call, InetSocketAddress inetSocketAddress, Proxy proxy) {
+            connectStart = System.nanoTime();
+        }
+
+        @Override
+        public void secureConnectStart(Call call) {
+            tlsStart = System.nanoTime();
+        }
+
+        @Override
+        public void secureConnectEnd(Call call, Handshake handshake) {
+            tlsEnd = System.nanoTime();
+        }
+
+        @Override
+        public void connectEnd(Call call, InetSocketAddress inetSocketAddress, Proxy proxy, Protocol protocol) {
+            connectEnd = System.nanoTime();
+        }
+
+        @Override
+        public void responseHeadersStart(Call call) {
+            if (firstByte == 0) firstByte = System.nanoTime();
+        }
+
+        @Override
+        public void cacheHit(Call call, Response response) {
+            cacheHit = true;
+        }
+
+        @Override
+        public void callEnd(Call call) {
+            finish(call, "ok");
+        }
+
+        @Override
+        public void callFailed(Call call, IOException ioe) {
+            finish(call, "failed");
+        }
+
+        private void finish(Call call, String outcome) {
+            long end = System.nanoTime();
+            record(DNS, dnsStart, dnsEnd);
+            record(CONNECT, connectStart, connectEnd);
+            record(TLS, tlsStart, tlsEnd);
+            record(TTFB, callStart, firstByte);
+            record(TOTAL, callStart, end);
+            Log.d(TAG, String.format(Locale.ROOT, "%s %s%s dns=%dms connect=%dms tls=%dms ttfb=%dms total=%dms",
+                    call.request().url().host(), outcome, cacheHit ? " (cache)" : "",
+                    millis(dnsStart, dnsEnd), millis(connectStart, connectEnd), millis(tlsStart, tlsEnd),
+                    millis(callStart, firstByte), millis(callStart, end)));
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.example.learnify;
+
+import android.content.Context;
+
+import androidx.annotation.NonNull;
+
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.SettableFuture;
+import com.google.gson.Gson;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+
+public class HttpQuizBackend implements QuizModelBackend {
+
+    public static final String GENERATE_PATH = "/v1/generate";
+    public static final String STREAM_PATH = "/v1/stream";
+
+    private static final MediaType JSON = MediaType.get("application/json; charset=utf-8");
+    private static final int READ_BUFFER_CHARS = 512;
+
+    private final OkHttpClient client;
+    private final String baseUrl;
+    private final ExecutorService streamExecutor = AppExecutors.getInstance().io();
+    private final Gson gson = new Gson();
+
+    public HttpQuizBackend(Context context, String baseUrl) {
+        this(HttpClientProvider.getInstance(context).getClient(), baseUrl);
+    }
+
+    public HttpQuizBackend(OkHttpClient client, String baseUrl) {
+        this.client = client;
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+    }
+
+    private Request buildRequest(String path, String prompt, Format format) {
+        Map<String, String> body = new HashMap<>();
+        body.put("prompt", prompt);
+        body.put("format", format.name());
+
+        return new Request.Builder()
+                .url(baseUrl + path)
+                .post(RequestBody.create(gson.toJson(body), JSON))
+                .build();
+    }
+
+    private static Exception httpError(int code) {
+        String message = "Backend returned HTTP " + code;
+        if (code >= 500 || code == 429) return new IOException(message);
+        return new IllegalStateException(message);
+    }
+
+    @Override
+    public ListenableFuture<String> generate(String prompt, Format format) {
+        SettableFuture<String> future = SettableFuture.create();
+        Call call = client.newCall(buildRequest(GENERATE_PATH, prompt, format));
+        future.addListener(() -> {
+            if (future.isCancelled()) call.cancel();
+        }, MoreExecutors.directExecutor());
+
+        call.enqueue(new Callback() {
+            @Override
+            public void onFailure(@NonNull Call call, @NonNull IOException e) {
+                future.setException(e);
+            }
+
+            @Override
+            public void onResponse(@NonNull Call call, @NonNull Response response) {
+                try (Response r = response) {
+                    if (!r.isSuccessful()) {
+                        future.setException(httpError(r.code()));
+                    } else {
+                        future.set(r.body().string());
+                    }
+                } catch (IOException e) {
+                    future.setException(e);
+                }
+            }
+        });
+        return future;
+    }
+
+    @Override
+    public Publisher<String> generateStream(String prompt, Format format) {
+        return subscriber -> {
+            Call call = client.newCall(buildRequest(STREAM_PATH, prompt, format));
+            AtomicBoolean started = new AtomicBoolean();
+
+            subscriber.onSubscribe(new Subscription() {
+                @Override
+                public void request(long n) {
+                    if (n > 0 && started.compareAndSet(false, true)) {
+                        streamExecutor.execute(() -> readStream(call, subscriber));
+                    }
+                }
+
+                @Override
+                public void cancel() {
+                    call.cancel();
+                }
+            });
+        };
+    }
+
+    private void readStream(Call call, Subscriber<? super String> subscriber) {
+        try (Response response = call.execute()) {
+            if (!response.isSuccessful()) {
+                subscriber.onError(httpError(response.code()));
+                return;
+            }
+
+            Reader reader = response.body().charStream();
+            char[] buffer = new char[READ_BUFFER_CHARS];
+            int read;
+            while ((read = reader.read(buffer)) != -1) {
+                if (call.isCanceled()) return;
+                subscriber.onNext(new String(buffer, 0, read));
+            }
+            subscriber.onComplete();
+        } catch (IOException e) {
+            if (!call.isCanceled()) subscriber.onError(e);
+        }
+    }
+}
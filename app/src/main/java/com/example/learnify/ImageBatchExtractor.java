@@ -0,0 +1,227 @@
+package com.example.learnify;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.net.Uri;
+import android.util.Log;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+public class ImageBatchExtractor {
+
+    private static final String TAG = "ImageBatchExtractor";
+    private static final int DEFAULT_CONCURRENCY = 2;
+    private static final int HASH_THUMBNAIL_SIZE = 64;
+    private static final int DUPLICATE_DISTANCE = 4;
+    private static final double DUPLICATE_TEXT_OVERLAP = 0.8;
+    private static final ExecutorService WORKERS = AppExecutors.getInstance().cpu();
+
+    private final Context context;
+    private final ScaledBitmapDecoder decoder;
+    private volatile int concurrency = DEFAULT_CONCURRENCY;
+    private volatile int duplicateDistance = DUPLICATE_DISTANCE;
+
+    public ImageBatchExtractor(Context context, ScaledBitmapDecoder decoder) {
+        this.context = context.getApplicationContext();
+        this.decoder = decoder;
+    }
+
+    public void setConcurrency(int concurrency) {
+        this.concurrency = Math.max(1, concurrency);
+    }
+
+    public void setDuplicateDistance(int duplicateDistance) {
+        this.duplicateDistance = Math.max(0, duplicateDistance);
+    }
+
+    public Result extract(List<Uri> uris, BatchListener listener) throws Exception {
+        for (Uri uri : uris) {
+            String type = context.getContentResolver().getType(uri);
+            if (type != null && !type.startsWith("image/")) {
+                throw new Exception("Only images can be selected together.");
+            }
+        }
+
+        int total = uris.size();
+        int[] lookalike = findLookalikes(uris);
+        List<Integer> all = new ArrayList<>();
+        for (int i = 0; i < total; i++) all.add(i);
+
+        String[] texts = new String[total];
+        ImageStatus[] statuses = new ImageStatus[total];
+        List<Integer> duplicates = new ArrayList<>();
+        int[] emitted = {0};
+        Object lock = new Object();
+
+        try (MlKitPageRecognizer recognizer = new MlKitPageRecognizer()) {
+            runBounded(all, index -> {
+                String text = null;
+                ImageStatus status;
+                ScaledBitmapDecoder.Decoded decoded = null;
+                try {
+                    decoded = decoder.decode(uris.get(index));
+                    text = recognizer.recognize(decoded.getBitmap(), decoded.getRotationDegrees()).trim();
+                    status = text.isEmpty() ? ImageStatus.NO_TEXT : ImageStatus.OK;
+                } catch (Exception e) {
+                    Log.w(TAG, "Image " + index + " failed", e);
+                    status = ImageStatus.FAILED;
+                } finally {
+                    if (decoded != null) decoder.release(decoded.getBitmap());
+                }
+
+                synchronized (lock) {
+                    texts[index] = text;
+                    statuses[index] = status;
+                    if (lookalike[index] < 0) listener.onImage(index, total, status);
+                    while (emitted[0] < total && statuses[emitted[0]] != null) {
+                        int next = emitted[0];
+                        if (lookalike[next] >= 0) {
+                            if (sameText(texts[lookalike[next]], texts[next])) {
+                                texts[next] = null;
+                                statuses[next] = ImageStatus.DUPLICATE;
+                                duplicates.add(next);
+                            }
+                            listener.onImage(next, total, statuses[next]);
+                        }
+                        String ready = texts[next];
+                        if (ready != null && !ready.isEmpty()) listener.onText(ready, next, total);
+                        emitted[0]++;
+                    }
+                }
+            });
+        }
+
+        StringBuilder combined = new StringBuilder();
+        for (String text : texts) {
+            if (text == null || text.isEmpty()) continue;
+            if (combined.length() > 0) combined.append("\n\n");
+            combined.append(text);
+        }
+        return new Result(combined.toString(), duplicates);
+    }
+
+    private int[] findLookalikes(List<Uri> uris) throws Exception {
+        long[] hashes = new long[uris.size()];
+        boolean[] hashed = new boolean[uris.size()];
+        List<Integer> all = new ArrayList<>();
+        for (int i = 0; i < uris.size(); i++) all.add(i);
+
+        runBounded(all, index -> {
+            try {
+                Bitmap thumbnail = decoder.decodeThumbnail(uris.get(index), HASH_THUMBNAIL_SIZE);
+                hashes[index] = ImageHash.dHash(thumbnail);
+                hashed[index] = true;
+                thumbnail.recycle();
+            } catch (Exception e) {
+                Log.w(TAG, "Could not hash image " + index, e);
+            }
+        });
+
+        int[] lookalike = new int[uris.size()];
+        int threshold = duplicateDistance;
+        for (int i = 0; i < hashes.length; i++) {
+            lookalike[i] = -1;
+            if (!hashed[i]) continue;
+            for (int kept = 0; kept < i; kept++) {
+                if (hashed[kept] && lookalike[kept] < 0 && ImageHash.distance(hashes[i], hashes[kept]) <= threshold) {
+                    lookalike[i] = kept;
+                    break;
+                }
+            }
+        }
+        return lookalike;
+    }
+
+    static boolean sameText(String kept, String candidate) {
+        if (kept == null || candidate == null) return false;
+        Set<String> keptWords = words(kept);
+        Set<String> candidateWords = words(candidate);
+        if (keptWords.isEmpty() || candidateWords.isEmpty()) return keptWords.isEmpty() && candidateWords.isEmpty();
+
+        int shared = 0;
+        for (String word : candidateWords) {
+            if (keptWords.contains(word)) shared++;
+        }
+        int union = keptWords.size() + candidateWords.size() - shared;
+        return shared >= DUPLICATE_TEXT_OVERLAP * union;
+    }
+
+    private static Set<String> words(String text) {
+        Set<String> words = new HashSet<>();
+        for (String word : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (!word.isEmpty()) words.add(word);
+        }
+        return words;
+    }
+
+    private void runBounded(List<Integer> indices, IndexTask task) throws Exception {
+        List<Future<?>> futures = new ArrayList<>();
+        int lanes = Math.min(concurrency, indices.size());
+        Object cursorLock = new Object();
+        int[] cursor = {0};
+
+        for (int lane = 0; lane < lanes; lane++) {
+            futures.add(WORKERS.submit(() -> {
+                while (!Thread.currentThread().isInterrupted()) {
+                    int index;
+                    synchronized (cursorLock) {
+                        if (cursor[0] >= indices.size()) return null;
+                        index = indices.get(cursor[0]++);
+                    }
+                    task.run(index);
+                }
+                return null;
+            }));
+        }
+
+        try {
+            for (Future<?> future : futures) future.get();
+        } catch (InterruptedException e) {
+            for (Future<?> future : futures) future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw e;
+        } catch (ExecutionException e) {
+            for (Future<?> future : futures) future.cancel(true);
+            Throwable cause = e.getCause();
+            if (cause instanceof Exception) throw (Exception) cause;
+            throw e;
+        }
+    }
+
+    private interface IndexTask {
+        void run(int index) throws Exception;
+    }
+
+    public enum ImageStatus { OK, NO_TEXT, DUPLICATE, FAILED }
+
+    public static class Result {
+        private final String text;
+        private final List<Integer> duplicates;
+
+        Result(String text, List<Integer> duplicates) {
+            this.text = text;
+            this.duplicates = Collections.unmodifiableList(duplicates);
+        }
+
+        public String getText() {
+            return text;
+        }
+
+        public List<Integer> getDuplicates() {
+            return duplicates;
+        }
+    }
+
+    public interface BatchListener {
+        void onImage(int index, int total, ImageStatus status);
+        void onText(String text, int index, int total);
+    }
+}
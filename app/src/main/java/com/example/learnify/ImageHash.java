@@ -0,0 +1,42 @@
+package com.example.learnify;
+
+import android.graphics.Bitmap;
+import android.graphics.Color;
+
+public class ImageHash {
+
+    private static final int HASH_WIDTH = 9;
+    private static final int HASH_HEIGHT = 8;
+
+    private ImageHash() {}
+
+    public static long dHash(Bitmap bitmap) {
+        Bitmap small = Bitmap.createScaledBitmap(bitmap, HASH_WIDTH, HASH_HEIGHT, true);
+        int[] pixels = new int[HASH_WIDTH * HASH_HEIGHT];
+        small.getPixels(pixels, 0, HASH_WIDTH, 0, 0, HASH_WIDTH, HASH_HEIGHT);
+        if (small != bitmap) small.recycle();
+
+        int[] luma = new int[pixels.length];
+        for (int i = 0; i < pixels.length; i++) {
+            int c = pixels[i];
+            luma[i] = (Color.red(c) * 299 + Color.green(c) * 587 + Color.blue(c) * 114) / 1000;
+        }
+        return dHash(luma);
+    }
+
+    static long dHash(int[] luma) {
+        long hash = 0;
+        for (int y = 0; y < HASH_HEIGHT; y++) {
+            for (int x = 0; x < HASH_WIDTH - 1; x++) {
+                int row = y * HASH_WIDTH;
+                hash <<= 1;
+                if (luma[row + x] > luma[row + x + 1]) hash |= 1;
+            }
+        }
+        return hash;
+    }
+
+    public static int distance(long a, long b) {
+        return Long.bitCount(a ^ b);
+    }
+}
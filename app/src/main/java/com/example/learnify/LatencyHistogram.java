@@ -0,0 +1,47 @@
+package com.example.learnify;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+public class LatencyHistogram {
+
+    private static final long[] BUCKET_BOUNDS_MS = {
+            50, 100, 200, 350, 500, 750, 1000, 1500, 2000, 3000, 4000, 6000, 8000,
+            12000, 16000, 24000, 32000, 45000, 60000, 90000, 120000
+    };
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_BOUNDS_MS.length + 1);
+
+    public void record(long millis) {
+        int bucket = 0;
+        while (bucket < BUCKET_BOUNDS_MS.length && millis > BUCKET_BOUNDS_MS[bucket]) bucket++;
+        counts.incrementAndGet(bucket);
+    }
+
+    public long count() {
+        long total = 0;
+        for (int i = 0; i < counts.length(); i++) total += counts.get(i);
+        return total;
+    }
+
+    public long percentile(double p) {
+        long total = count();
+        if (total == 0) return 0;
+
+        long target = (long) Math.ceil(total * p);
+        long seen = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            seen += counts.get(i);
+            if (seen >= target) {
+                return i < BUCKET_BOUNDS_MS.length ? BUCKET_BOUNDS_MS[i] : Long.MAX_VALUE;
+            }
+        }
+        return Long.MAX_VALUE;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT, "n=%d p50=%dms p95=%dms p99=%dms",
+                count(), percentile(0.50), percentile(0.95), percentile(0.99));
+    }
+}
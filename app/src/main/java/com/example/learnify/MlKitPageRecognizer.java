@@ -0,0 +1,30 @@
+package com.example.learnify;
+
+import android.graphics.Bitmap;
+
+import com.google.android.gms.tasks.Tasks;
+import com.google.mlkit.vision.common.InputImage;
+import com.google.mlkit.vision.text.TextRecognition;
+import com.google.mlkit.vision.text.TextRecognizer;
+import com.google.mlkit.vision.text.latin.TextRecognizerOptions;
+
+import java.io.Closeable;
+
+public class MlKitPageRecognizer implements OcrPipeline.Recognizer<Bitmap>, Closeable {
+
+    private final TextRecognizer recognizer = TextRecognition.getClient(TextRecognizerOptions.DEFAULT_OPTIONS);
+
+    @Override
+    public String recognize(Bitmap image) throws Exception {
+        return recognize(image, 0);
+    }
+
+    public String recognize(Bitmap image, int rotationDegrees) throws Exception {
+        return Tasks.await(recognizer.process(InputImage.fromBitmap(image, rotationDegrees))).getText();
+    }
+
+    @Override
+    public void close() {
+        recognizer.close();
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.learnify;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class OcrPipeline<I> {
+
+    private static final ExecutorService RENDERERS = AppExecutors.getInstance().cpu();
+
+    private final PageRenderer<I> renderer;
+    private final Recognizer<I> recognizer;
+    private final int depth;
+
+    public OcrPipeline(PageRenderer<I> renderer, Recognizer<I> recognizer, int depth) {
+        this.renderer = renderer;
+        this.recognizer = recognizer;
+        this.depth = Math.max(1, depth);
+    }
+
+    public void run(List<Integer> pages, PageListener listener) throws Exception {
+        if (pages.isEmpty()) return;
+
+        BlockingQueue<Rendered<I>> queue = new ArrayBlockingQueue<>(depth);
+        AtomicBoolean cancelled = new AtomicBoolean();
+        AtomicReference<Thread> renderThread = new AtomicReference<>();
+        CountDownLatch stopped = new CountDownLatch(1);
+        RENDERERS.execute(() -> {
+            renderThread.set(Thread.currentThread());
+            try {
+                if (!cancelled.get()) renderAll(pages, queue);
+            } finally {
+                synchronized (renderThread) {
+                    renderThread.set(null);
+                }
+                Thread.interrupted();
+                stopped.countDown();
+            }
+        });
+
+        try {
+            for (int i = 0; i < pages.size(); i++) {
+                Rendered<I> rendered = queue.take();
+                if (rendered.error != null) throw rendered.error;
+                String text;
+                try {
+                    text = recognizer.recognize(rendered.image);
+                } finally {
+                    renderer.release(rendered.image);
+                }
+                listener.onPage(rendered.pageIndex, text);
+            }
+        } finally {
+            cancelled.set(true);
+            synchronized (renderThread) {
+                Thread thread = renderThread.get();
+                if (thread != null) thread.interrupt();
+            }
+            stopped.await();
+            Rendered<I> left;
+            while ((left = queue.poll()) != null) {
+                if (left.image != null) renderer.release(left.image);
+            }
+        }
+    }
+
+    private void renderAll(List<Integer> pages, BlockingQueue<Rendered<I>> queue) {
+        for (int pageIndex : pages) {
+            Rendered<I> rendered;
+            try {
+                rendered = new Rendered<>(pageIndex, renderer.render(pageIndex), null);
+            } catch (Exception e) {
+                rendered = new Rendered<>(pageIndex, null, e);
+            }
+            try {
+                queue.put(rendered);
+            } catch (InterruptedException e) {
+                if (rendered.image != null) renderer.release(rendered.image);
+                return;
+            }
+            if (rendered.error != null) return;
+        }
+    }
+
+    private static class Rendered<I> {
+        final int pageIndex;
+        final I image;
+        final Exception error;
+
+        Rendered(int pageIndex, I image, Exception error) {
+            this.pageIndex = pageIndex;
+            this.image = image;
+            this.error = error;
+        }
+    }
+
+    public interface PageRenderer<I> {
+        I render(int pageIndex) throws IOException;
+        void release(I image);
+    }
+
+    public interface Recognizer<I> {
+        String recognize(I image) throws Exception;
+    }
+
+    public interface PageListener {
+        void onPage(int pageIndex, String text);
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.learnify;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.Color;
+import android.graphics.pdf.PdfRenderer;
+import android.net.Uri;
+import android.os.ParcelFileDescriptor;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+public class PdfPageRenderer implements OcrPipeline.PageRenderer<Bitmap>, Closeable {
+
+    private static final int MAX_DIMENSION = 2048;
+    private static final float POINTS_PER_INCH = 72f;
+
+    private final ParcelFileDescriptor descriptor;
+    private final PdfRenderer renderer;
+    private final int dpi;
+
+    public PdfPageRenderer(Context context, Uri uri, int dpi) throws IOException {
+        ParcelFileDescriptor fd = context.getContentResolver().openFileDescriptor(uri, "r");
+        if (fd == null) throw new IOException("Could not open file.");
+        try {
+            this.renderer = new PdfRenderer(fd);
+        } catch (IOException | RuntimeException e) {
+            fd.close();
+            throw e;
+        }
+        this.descriptor = fd;
+        this.dpi = dpi;
+    }
+
+    @Override
+    public Bitmap render(int pageIndex) throws IOException {
+        synchronized (renderer) {
+            try (PdfRenderer.Page page = renderer.openPage(pageIndex)) {
+                float scale = dpi / POINTS_PER_INCH;
+                float longest = Math.max(page.getWidth(), page.getHeight()) * scale;
+                if (longest > MAX_DIMENSION) scale *= MAX_DIMENSION / longest;
+
+                int width = Math.max(1, Math.round(page.getWidth() * scale));
+                int height = Math.max(1, Math.round(page.getHeight() * scale));
+                Bitmap bitmap = Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888);
+                bitmap.eraseColor(Color.WHITE);
+                page.render(bitmap, null, null, PdfRenderer.Page.RENDER_MODE_FOR_DISPLAY);
+                return bitmap;
+            }
+        }
+    }
+
+    @Override
+    public void release(Bitmap image) {
+        if (image != null) image.recycle();
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (renderer) {
+            renderer.close();
+        }
+        descriptor.close();
+    }
+}
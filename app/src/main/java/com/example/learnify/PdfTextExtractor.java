@@ -0,0 +1,234 @@
+package com.example.learnify;
+
+import com.tom_roush.pdfbox.io.MemoryUsageSetting;
+import com.tom_roush.pdfbox.pdmodel.PDDocument;
+import com.tom_roush.pdfbox.text.PDFTextStripper;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class PdfTextExtractor {
+
+    private static final int DEFAULT_PAGE_WINDOW = 5;
+    private static final int DEFAULT_MAX_PAGES = 30;
+    private static final int CORES = Runtime.getRuntime().availableProcessors();
+    private static final ExecutorService WORKERS = AppExecutors.getInstance().cpu();
+
+    private volatile int pageWindow = DEFAULT_PAGE_WINDOW;
+    private volatile int maxPages = DEFAULT_MAX_PAGES;
+    private volatile int workerCount = Math.min(4, CORES);
+    private volatile long mainMemoryBytes = -1;
+    private volatile File scratchDir;
+
+    public void setPageWindow(int pageWindow) {
+        this.pageWindow = Math.max(1, pageWindow);
+    }
+
+    public void setMaxPages(int maxPages) {
+        this.maxPages = maxPages > 0 ? maxPages : Integer.MAX_VALUE;
+    }
+
+    public void setWorkerCount(int workerCount) {
+        this.workerCount = Math.max(1, Math.min(workerCount, CORES));
+    }
+
+    public int getWorkerCount() {
+        return workerCount;
+    }
+
+    public void setMemoryBudget(long mainMemoryBytes, File scratchDir) {
+        this.mainMemoryBytes = mainMemoryBytes;
+        this.scratchDir = scratchDir;
+    }
+
+    public PDDocument load(InputStream inputStream) throws IOException {
+        return PDDocument.load(inputStream, memoryUsage(1));
+    }
+
+    private MemoryUsageSetting memoryUsage(int lanes) {
+        if (mainMemoryBytes < 0) return MemoryUsageSetting.setupMainMemoryOnly();
+        MemoryUsageSetting setting = MemoryUsageSetting.setupMixed(Math.max(1, mainMemoryBytes / lanes));
+        File dir = scratchDir;
+        if (dir != null) setting.setTempDir(dir);
+        return setting;
+    }
+
+    public Extraction extractSequential(PDDocument document, PageListener listener) throws IOException {
+        int totalPages = Math.min(document.getNumberOfPages(), maxPages);
+        int window = pageWindow;
+
+        PDFTextStripper stripper = new PDFTextStripper();
+        Extraction extraction = new Extraction(totalPages);
+
+        for (int firstPage = 1; firstPage <= totalPages; firstPage += window) {
+            int lastPage = Math.min(totalPages, firstPage + window - 1);
+            stripPages(stripper, document, extraction, firstPage, lastPage);
+            listener.onPages(extraction.join(firstPage, lastPage), firstPage, lastPage, totalPages);
+        }
+        return extraction;
+    }
+
+    public Extraction extract(File file, PageListener listener) throws IOException {
+        int maxLanes = workerCount;
+        PDDocument first = PDDocument.load(file, memoryUsage(maxLanes));
+        try {
+            int totalPages = Math.min(first.getNumberOfPages(), maxPages);
+            int window = pageWindow;
+            int windows = (totalPages + window - 1) / window;
+            int lanes = Math.min(maxLanes, windows);
+
+            if (lanes <= 1) return extractSequential(first, listener);
+
+            WindowResults results = new WindowResults(windows, window, new Extraction(totalPages), listener);
+            AtomicInteger nextWindow = new AtomicInteger();
+            List<Future<?>> futures = new ArrayList<>();
+
+            for (int lane = 1; lane < lanes; lane++) {
+                futures.add(WORKERS.submit(() -> {
+                    try (PDDocument document = PDDocument.load(file, memoryUsage(maxLanes))) {
+                        stripWindows(document, nextWindow, results);
+                    }
+                    return null;
+                }));
+            }
+
+            try {
+                stripWindows(first, nextWindow, results);
+            } catch (IOException | RuntimeException e) {
+                for (Future<?> future : futures) future.cancel(true);
+                throw e;
+            }
+
+            awaitAll(futures);
+            return results.extraction;
+        } finally {
+            first.close();
+        }
+    }
+
+    private static void stripPages(PDFTextStripper stripper, PDDocument document, Extraction extraction,
+                                   int firstPage, int lastPage) throws IOException {
+        for (int page = firstPage; page <= lastPage; page++) {
+            if (Thread.currentThread().isInterrupted()) throw new InterruptedIOException("PDF extraction cancelled");
+            stripper.setStartPage(page);
+            stripper.setEndPage(page);
+            extraction.setPageText(page - 1, stripper.getText(document));
+        }
+    }
+
+    private static void stripWindows(PDDocument document, AtomicInteger nextWindow, WindowResults results) throws IOException {
+        try {
+            PDFTextStripper stripper = new PDFTextStripper();
+            int index;
+            while (!results.isFailed() && (index = nextWindow.getAndIncrement()) < results.size()) {
+                stripPages(stripper, document, results.extraction, results.firstPage(index), results.lastPage(index));
+                results.done(index);
+            }
+        } catch (IOException | RuntimeException e) {
+            results.fail();
+            throw e;
+        }
+    }
+
+    private static void awaitAll(List<Future<?>> futures) throws IOException {
+        try {
+            for (Future<?> future : futures) future.get();
+        } catch (InterruptedException e) {
+            for (Future<?> future : futures) future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IOException("PDF extraction interrupted", e);
+        } catch (ExecutionException e) {
+            for (Future<?> future : futures) future.cancel(true);
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) throw (IOException) cause;
+            if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+            if (cause instanceof Error) throw (Error) cause;
+            throw new IOException(cause);
+        }
+    }
+
+    public static class Extraction {
+        private final String[] pages;
+
+        Extraction(int totalPages) {
+            this.pages = new String[totalPages];
+        }
+
+        public int getTotalPages() {
+            return pages.length;
+        }
+
+        public synchronized void setPageText(int pageIndex, String text) {
+            pages[pageIndex] = text;
+        }
+
+        public synchronized List<Integer> getTextlessPages() {
+            List<Integer> textless = new ArrayList<>();
+            for (int i = 0; i < pages.length; i++) {
+                if (pages[i] == null || pages[i].trim().isEmpty()) textless.add(i);
+            }
+            return textless;
+        }
+
+        public synchronized String getText() {
+            return join(1, pages.length);
+        }
+
+        synchronized String join(int firstPage, int lastPage) {
+            StringBuilder text = new StringBuilder();
+            for (int i = firstPage - 1; i < lastPage; i++) {
+                if (pages[i] == null) continue;
+                if (text.length() > 0) {
+                    if (text.charAt(text.length() - 1) != '\n') text.append('\n');
+                    text.append(TextNormalizer.PAGE_BREAK).append('\n');
+                }
+                text.append(pages[i]);
+            }
+            return text.toString();
+        }
+    }
+
+    private static class WindowResults {
+        private final boolean[] done;
+        private final int window;
+        private final Extraction extraction;
+        private final PageListener listener;
+        private int emitted;
+        private volatile boolean failed;
+
+        WindowResults(int windows, int window, Extraction extraction, PageListener listener) {
+            this.done = new boolean[windows];
+            this.window = window;
+            this.extraction = extraction;
+            this.listener = listener;
+        }
+
+        int size() { return done.length; }
+        int firstPage(int index) { return index * window + 1; }
+        int lastPage(int index) { return Math.min(extraction.getTotalPages(), (index + 1) * window); }
+        boolean isFailed() { return failed; }
+        void fail() { failed = true; }
+
+        synchronized void done(int index) {
+            done[index] = true;
+            while (emitted < done.length && done[emitted]) {
+                int firstPage = firstPage(emitted);
+                int lastPage = lastPage(emitted);
+                listener.onPages(extraction.join(firstPage, lastPage), firstPage, lastPage, extraction.getTotalPages());
+                emitted++;
+            }
+        }
+    }
+
+    public interface PageListener {
+        void onPages(String text, int firstPage, int lastPage, int totalPages);
+    }
+}
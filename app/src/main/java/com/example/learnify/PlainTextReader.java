@@ -0,0 +1,239 @@
+package com.example.learnify;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
+import java.io.PushbackInputStream;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+
+public class PlainTextReader {
+
+    public static final int DEFAULT_CHAR_BUDGET = 200_000;
+
+    private static final int BLOCK_CHARS = 8 * 1024;
+    private static final int SNIFF_BYTES = 4 * 1024;
+    private static final int SAMPLE_SEGMENTS = 8;
+    private static final String SEGMENT_SEPARATOR = "\n\n";
+
+    private volatile int charBudget = DEFAULT_CHAR_BUDGET;
+    private volatile boolean sampling = true;
+
+    public void setCharBudget(int charBudget) {
+        this.charBudget = Math.max(1, charBudget);
+    }
+
+    public void setSampling(boolean sampling) {
+        this.sampling = sampling;
+    }
+
+    public Result read(InputStream raw, long sizeBytes) throws IOException {
+        PositionedInputStream in = new PositionedInputStream(raw, SNIFF_BYTES);
+
+        byte[] head = new byte[SNIFF_BYTES];
+        int headLength = readFully(in, head);
+        in.unread(head, 0, headLength);
+
+        int bomLength = bomLength(head, headLength);
+        Charset charset = sniffCharset(head, headLength);
+        skipFully(in, bomLength);
+
+        int budget = charBudget;
+        boolean sample = sampling && sizeBytes > 0 && estimateChars(sizeBytes, charset) > budget;
+        StringBuilder text = new StringBuilder((int) Math.min(budget, Math.max(BLOCK_CHARS, estimateChars(sizeBytes, charset))));
+
+        if (!sample) {
+            boolean truncated = readChars(new InputStreamReader(in, charset), text, budget);
+            return new Result(text.toString(), charset, truncated, false);
+        }
+
+        int perSegment = Math.max(1, (budget - SEGMENT_SEPARATOR.length() * (SAMPLE_SEGMENTS - 1)) / SAMPLE_SEGMENTS);
+        long stride = sizeBytes / SAMPLE_SEGMENTS;
+        for (int segment = 0; segment < SAMPLE_SEGMENTS; segment++) {
+            long offset = Math.max(bomLength, segment * stride);
+            if (isWide(charset)) offset &= ~1L;
+            if (offset > in.position) skipFully(in, offset - in.position);
+            if (segment > 0) {
+                alignToCharacter(in, charset);
+                skipToLineStart(in, charset);
+            }
+
+            StringBuilder part = new StringBuilder(Math.min(perSegment, BLOCK_CHARS));
+            readChars(new InputStreamReader(in, charset), part, perSegment);
+            if (part.length() == 0) continue;
+            if (text.length() > 0) text.append(SEGMENT_SEPARATOR);
+            text.append(part);
+        }
+        return new Result(text.toString(), charset, true, true);
+    }
+
+    private static boolean readChars(Reader reader, StringBuilder out, int budget) throws IOException {
+        char[] block = new char[BLOCK_CHARS];
+        while (out.length() < budget) {
+            if (Thread.currentThread().isInterrupted()) throw new InterruptedIOException("Text read cancelled");
+            int read = reader.read(block, 0, Math.min(block.length, budget - out.length()));
+            if (read == -1) return false;
+            out.append(block, 0, read);
+        }
+        return reader.read() != -1;
+    }
+
+    static int bomLength(byte[] head, int length) {
+        if (length >= 3 && (head[0] & 0xFF) == 0xEF && (head[1] & 0xFF) == 0xBB && (head[2] & 0xFF) == 0xBF) return 3;
+        if (length >= 2 && (head[0] & 0xFF) == 0xFE && (head[1] & 0xFF) == 0xFF) return 2;
+        if (length >= 2 && (head[0] & 0xFF) == 0xFF && (head[1] & 0xFF) == 0xFE) return 2;
+        return 0;
+    }
+
+    static Charset sniffCharset(byte[] head, int length) {
+        if (length >= 3 && (head[0] & 0xFF) == 0xEF && (head[1] & 0xFF) == 0xBB && (head[2] & 0xFF) == 0xBF) {
+            return StandardCharsets.UTF_8;
+        }
+        if (length >= 2 && (head[0] & 0xFF) == 0xFE && (head[1] & 0xFF) == 0xFF) return StandardCharsets.UTF_16BE;
+        if (length >= 2 && (head[0] & 0xFF) == 0xFF && (head[1] & 0xFF) == 0xFE) return StandardCharsets.UTF_16LE;
+
+        int evenZeros = 0;
+        int oddZeros = 0;
+        for (int i = 0; i < length; i++) {
+            if (head[i] != 0) continue;
+            if ((i & 1) == 0) evenZeros++; else oddZeros++;
+        }
+        int pairs = Math.max(1, length / 2);
+        if (oddZeros > pairs / 3 && evenZeros < pairs / 20) return StandardCharsets.UTF_16LE;
+        if (evenZeros > pairs / 3 && oddZeros < pairs / 20) return StandardCharsets.UTF_16BE;
+
+        if (isValidUtf8(head, length)) return StandardCharsets.UTF_8;
+        return Charset.isSupported("windows-1252") ? Charset.forName("windows-1252") : StandardCharsets.ISO_8859_1;
+    }
+
+    private static boolean isValidUtf8(byte[] head, int length) {
+        CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPORT)
+                .onUnmappableCharacter(CodingErrorAction.REPORT);
+        ByteBuffer bytes = ByteBuffer.wrap(head, 0, length);
+        CharBuffer chars = CharBuffer.allocate(length);
+        CoderResult result = decoder.decode(bytes, chars, false);
+        if (result.isError()) return false;
+        return bytes.remaining() < 4;
+    }
+
+    private static long estimateChars(long sizeBytes, Charset charset) {
+        if (sizeBytes <= 0) return 0;
+        return isWide(charset) ? sizeBytes / 2 : sizeBytes;
+    }
+
+    private static boolean isWide(Charset charset) {
+        return charset == StandardCharsets.UTF_16LE || charset == StandardCharsets.UTF_16BE;
+    }
+
+    private static void alignToCharacter(PositionedInputStream in, Charset charset) throws IOException {
+        if (charset != StandardCharsets.UTF_8) return;
+        int b;
+        while ((b = in.read()) != -1) {
+            if ((b & 0xC0) != 0x80) {
+                in.unread(b);
+                return;
+            }
+        }
+    }
+
+    private static void skipToLineStart(InputStream in, Charset charset) throws IOException {
+        boolean wide = isWide(charset);
+        int unit = wide ? 2 : 1;
+        int newlineIndex = charset == StandardCharsets.UTF_16BE ? 1 : 0;
+        byte[] buffer = new byte[unit];
+        while (readFully(in, buffer) == unit) {
+            boolean newline = buffer[newlineIndex] == '\n' && (!wide || buffer[1 - newlineIndex] == 0);
+            if (newline) return;
+        }
+    }
+
+    private static int readFully(InputStream in, byte[] buffer) throws IOException {
+        int total = 0;
+        while (total < buffer.length) {
+            int read = in.read(buffer, total, buffer.length - total);
+            if (read == -1) break;
+            total += read;
+        }
+        return total;
+    }
+
+    private static void skipFully(InputStream in, long bytes) throws IOException {
+        long remaining = bytes;
+        while (remaining > 0) {
+            long skipped = in.skip(remaining);
+            if (skipped <= 0) {
+                if (in.read() == -1) return;
+                skipped = 1;
+            }
+            remaining -= skipped;
+        }
+    }
+
+    private static class PositionedInputStream extends PushbackInputStream {
+        long position;
+
+        PositionedInputStream(InputStream in, int pushbackSize) {
+            super(in, pushbackSize);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b != -1) position++;
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int read = super.read(b, off, len);
+            if (read > 0) position += read;
+            return read;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            if (skipped > 0) position += skipped;
+            return skipped;
+        }
+
+        @Override
+        public void unread(int b) throws IOException {
+            super.unread(b);
+            position--;
+        }
+
+        @Override
+        public void unread(byte[] b, int off, int len) throws IOException {
+            super.unread(b, off, len);
+            position -= len;
+        }
+    }
+
+    public static class Result {
+        private final String text;
+        private final Charset charset;
+        private final boolean truncated;
+        private final boolean sampled;
+
+        Result(String text, Charset charset, boolean truncated, boolean sampled) {
+            this.text = text;
+            this.charset = charset;
+            this.truncated = truncated;
+            this.sampled = sampled;
+        }
+
+        public String getText() { return text; }
+        public Charset getCharset() { return charset; }
+        public boolean isTruncated() { return truncated; }
+        public boolean isSampled() { return sampled; }
+    }
+}
@@ -48,13 +48,14 @@ public class QuizActivity extends AppCompatActivity {
         }
     }
 
-    public void navigateToGame(int numQuestions, String difficulty, long timeLimitMs, String language, String topicName) {
+    public void navigateToGame(int numQuestions, String difficulty, long timeLimitMs, String language, boolean freshQuestions, String topicName) {
         QuizGameFragment gameFragment = new QuizGameFragment();
         Bundle args = new Bundle();
         args.putInt("NUM_QUESTIONS", numQuestions);
         args.putString("DIFFICULTY", difficulty);
         args.putLong("TIME_LIMIT_MS", timeLimitMs);
         args.putString("LANGUAGE", language);
+        args.putBoolean("FRESH_QUESTIONS", freshQuestions);
 
         args.putString("SOURCE_TYPE", sourceType);
         args.putString("SOURCE_DATA", sourceData);
@@ -0,0 +1,88 @@
+package com.example.learnify;
+
+import android.content.Context;
+import android.util.Log;
+
+import com.google.gson.Gson;
+
+import java.io.File;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class QuizCache {
+
+    private static final String TAG = "QuizCache";
+    private static final String PROMPT_VERSION = "2";
+    private static final long MAX_CACHE_BYTES = 5 * 1024 * 1024;
+
+    private static QuizCache instance;
+    private final DiskCache diskCache;
+    private final Gson gson = new Gson();
+    private final AtomicInteger hits = new AtomicInteger();
+    private final AtomicInteger misses = new AtomicInteger();
+
+    private QuizCache(Context context) {
+        File directory = new File(context.getApplicationContext().getCacheDir(), "quiz_cache");
+        diskCache = new DiskCache(directory, MAX_CACHE_BYTES);
+    }
+
+    public static synchronized QuizCache getInstance(Context context) {
+        if (instance == null) {
+            instance = new QuizCache(context);
+        }
+        return instance;
+    }
+
+    public static String key(String text, int numQuestions, String difficulty, String language) {
+        return DiskCache.sha256(normalize(text), String.valueOf(numQuestions), difficulty, language, PROMPT_VERSION);
+    }
+
+    private static String normalize(String text) {
+        if (text == null) return "";
+        return text.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    public QuizResponse get(String key) {
+        DiskCache.Entry entry = diskCache.get(key);
+        QuizResponse response = null;
+        if (entry != null) {
+            try {
+                response = gson.fromJson(entry.getValue(), QuizResponse.class);
+            } catch (Exception e) {
+                diskCache.remove(key);
+            }
+        }
+
+        if (response == null || response.getQuestions() == null || response.getQuestions().isEmpty()) {
+            misses.incrementAndGet();
+            logStats();
+            return null;
+        }
+        hits.incrementAndGet();
+        logStats();
+        return response;
+    }
+
+    public void put(String key, QuizResponse response) {
+        if (response == null || response.getQuestions() == null || response.getQuestions().isEmpty()) return;
+        diskCache.put(key, gson.toJson(response));
+    }
+
+    public int getHitCount() {
+        return hits.get();
+    }
+
+    public int getMissCount() {
+        return misses.get();
+    }
+
+    public double getHitRate() {
+        int total = hits.get() + misses.get();
+        return total == 0 ? 0.0 : (double) hits.get() / total;
+    }
+
+    private void logStats() {
+        Log.d(TAG, String.format(Locale.ROOT, "hits=%d misses=%d hitRate=%.2f size=%dB",
+                hits.get(), misses.get(), getHitRate(), diskCache.size()));
+    }
+}
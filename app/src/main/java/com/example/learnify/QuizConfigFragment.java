@@ -1,6 +1,8 @@
 package com.example.learnify;
 
 import android.os.Bundle;
+import android.os.Handler;
+import android.os.Looper;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
@@ -10,6 +12,7 @@ import androidx.annotation.Nullable;
 import androidx.core.content.ContextCompat;
 import androidx.fragment.app.Fragment;
 import com.google.android.material.button.MaterialButton;
+import com.google.android.material.switchmaterial.SwitchMaterial;
 
 public class QuizConfigFragment extends Fragment {
 
@@ -18,10 +21,12 @@ public class QuizConfigFragment extends Fragment {
     private static final String ARG_LANG = "lang";
     private static final String ARG_READ_ONLY = "read_only";
     private static final String ARG_TOPIC = "topic_name";
+    private static final long SPECULATION_DELAY_MS = 1500;
 
     private int selectedQCount = 5;
     private String selectedDifficulty = "Medium";
     private String selectedLanguage = "English";
+    private boolean freshQuestions = false;
     private boolean isReadOnly = false;
     private String passedTopic = null;
 
@@ -29,6 +34,13 @@ public class QuizConfigFragment extends Fragment {
     private TextView btnEasy, btnMedium, btnHard;
     private TextView btnLangEnglish, btnLangSource;
     private TextView tvEstimatedTime;
+    private SwitchMaterial switchFreshQuestions;
+
+    private QuizGenerator quizGenerator;
+    private SharedRequest.Handle speculativeHandle;
+    private final Handler handler = new Handler(Looper.getMainLooper());
+    private final Runnable speculationRunnable = this::startSpeculativeGeneration;
+    private QuizDataHolder.ExtractionListener extractionListener;
 
     public static QuizConfigFragment newInstance(int qCount, String diff, String lang, boolean readOnly, String topicName) {
         QuizConfigFragment fragment = new QuizConfigFragment();
@@ -75,6 +87,8 @@ public class QuizConfigFragment extends Fragment {
         btnLangEnglish = view.findViewById(R.id.btn_lang_english);
         btnLangSource = view.findViewById(R.id.btn_lang_source);
 
+        switchFreshQuestions = view.findViewById(R.id.switch_fresh_questions);
+
         tvEstimatedTime = view.findViewById(R.id.tv_estimated_time);
         MaterialButton btnStart = view.findViewById(R.id.btn_start_quiz);
         view.findViewById(R.id.back_button_container).setOnClickListener(v -> requireActivity().finish());
@@ -89,26 +103,104 @@ public class QuizConfigFragment extends Fragment {
             btnStart.setText(R.string.retake_quiz);
         } else {
             setupListeners();
+            quizGenerator = new QuizGenerator(requireContext());
+            scheduleSpeculativeGeneration(0);
+        }
+
+        if (isReadOnly || !isCachedSource()) {
+            view.findViewById(R.id.ll_fresh_questions).setVisibility(View.GONE);
         }
 
         btnStart.setOnClickListener(v -> {
             if (getActivity() instanceof QuizActivity) {
-                ((QuizActivity) getActivity()).navigateToGame(selectedQCount, selectedDifficulty, calculateTimeMs(), selectedLanguage, passedTopic);
+                ((QuizActivity) getActivity()).navigateToGame(selectedQCount, selectedDifficulty, calculateTimeMs(), selectedLanguage, freshQuestions, passedTopic);
             }
         });
     }
 
     private void setupListeners() {
-        btnQ5.setOnClickListener(v -> { selectedQCount = 5; updateQCountUI(); calculateTime(); });
-        btnQ10.setOnClickListener(v -> { selectedQCount = 10; updateQCountUI(); calculateTime(); });
-        btnQ15.setOnClickListener(v -> { selectedQCount = 15; updateQCountUI(); calculateTime(); });
+        btnQ5.setOnClickListener(v -> { selectedQCount = 5; updateQCountUI(); calculateTime(); onSettingsChanged(); });
+        btnQ10.setOnClickListener(v -> { selectedQCount = 10; updateQCountUI(); calculateTime(); onSettingsChanged(); });
+        btnQ15.setOnClickListener(v -> { selectedQCount = 15; updateQCountUI(); calculateTime(); onSettingsChanged(); });
+
+        btnEasy.setOnClickListener(v -> { selectedDifficulty = "Easy"; updateDifficultyUI(); calculateTime(); onSettingsChanged(); });
+        btnMedium.setOnClickListener(v -> { selectedDifficulty = "Medium"; updateDifficultyUI(); calculateTime(); onSettingsChanged(); });
+        btnHard.setOnClickListener(v -> { selectedDifficulty = "Hard"; updateDifficultyUI(); calculateTime(); onSettingsChanged(); });
+
+        btnLangEnglish.setOnClickListener(v -> { selectedLanguage = "English"; updateLanguageUI(); onSettingsChanged(); });
+        btnLangSource.setOnClickListener(v -> { selectedLanguage = "Source"; updateLanguageUI(); onSettingsChanged(); });
+
+        switchFreshQuestions.setOnCheckedChangeListener((button, checked) -> { freshQuestions = checked; onSettingsChanged(); });
+    }
+
+    private void onSettingsChanged() {
+        if (speculativeHandle != null) {
+            speculativeHandle.cancelIfUnused();
+            speculativeHandle = null;
+        }
+        scheduleSpeculativeGeneration(SPECULATION_DELAY_MS);
+    }
+
+    private void scheduleSpeculativeGeneration(long delayMs) {
+        handler.removeCallbacks(speculationRunnable);
+        if (!isSpeculationAllowed()) return;
+        handler.postDelayed(speculationRunnable, delayMs);
+    }
+
+    private boolean isSpeculationAllowed() {
+        if (quizGenerator == null || getActivity() == null) return false;
 
-        btnEasy.setOnClickListener(v -> { selectedDifficulty = "Easy"; updateDifficultyUI(); calculateTime(); });
-        btnMedium.setOnClickListener(v -> { selectedDifficulty = "Medium"; updateDifficultyUI(); calculateTime(); });
-        btnHard.setOnClickListener(v -> { selectedDifficulty = "Hard"; updateDifficultyUI(); calculateTime(); });
+        return isCachedSource()
+                && !freshQuestions
+                && NetworkUtils.isNetworkAvailable(requireContext());
+    }
+
+    private boolean isCachedSource() {
+        String sourceType = requireActivity().getIntent().getStringExtra("SOURCE_TYPE");
+        return "DOCUMENT".equals(sourceType) || "YOUTUBE".equals(sourceType);
+    }
+
+    private void startSpeculativeGeneration() {
+        if (!isAdded()) return;
+
+        QuizDataHolder dataHolder = QuizDataHolder.getInstance();
+        if (dataHolder.isExtractionPending()) {
+            if (extractionListener == null) {
+                extractionListener = new QuizDataHolder.ExtractionListener() {
+                    @Override
+                    public void onExtracted(String text) {
+                        extractionListener = null;
+                        handler.post(() -> scheduleSpeculativeGeneration(0));
+                    }
+
+                    @Override
+                    public void onExtractionFailed(Throwable t) {
+                        extractionListener = null;
+                    }
+                };
+                dataHolder.awaitExtraction(extractionListener);
+            }
+            return;
+        }
+
+        String text = dataHolder.getExtractedText();
+        if (text == null || text.isEmpty()) return;
+
+        speculativeHandle = quizGenerator.prefetchQuiz(text, selectedQCount, selectedDifficulty, selectedLanguage);
+    }
 
-        btnLangEnglish.setOnClickListener(v -> { selectedLanguage = "English"; updateLanguageUI(); });
-        btnLangSource.setOnClickListener(v -> { selectedLanguage = "Source"; updateLanguageUI(); });
+    @Override
+    public void onDestroyView() {
+        super.onDestroyView();
+        handler.removeCallbacks(speculationRunnable);
+        if (extractionListener != null) {
+            QuizDataHolder.getInstance().removeListener(extractionListener);
+            extractionListener = null;
+        }
+        if (speculativeHandle != null) {
+            speculativeHandle.detach();
+            speculativeHandle = null;
+        }
     }
 
     private void disableInputs() {
@@ -1,8 +1,15 @@
 package com.example.learnify;
 
+import java.util.ArrayList;
+import java.util.List;
+
 public class QuizDataHolder {
     private static QuizDataHolder instance;
     private String extractedText;
+    private final List<ExtractionListener> listeners = new ArrayList<>();
+    private long extractionId;
+    private boolean extractionPending;
+    private Throwable extractionError;
 
     private QuizDataHolder() {}
 
@@ -14,10 +21,77 @@ public class QuizDataHolder {
     }
 
     public void setExtractedText(String text) {
-        this.extractedText = text;
+        long id;
+        synchronized (this) {
+            id = ++extractionId;
+        }
+        completeExtraction(id, text);
     }
 
-    public String getExtractedText() {
+    public synchronized String getExtractedText() {
         return extractedText;
     }
-}
\ No newline at end of file
+
+    public synchronized long beginExtraction() {
+        extractedText = null;
+        extractionError = null;
+        extractionPending = true;
+        return ++extractionId;
+    }
+
+    public synchronized boolean isExtractionPending() {
+        return extractionPending;
+    }
+
+    public void completeExtraction(long id, String text) {
+        List<ExtractionListener> waiting;
+        synchronized (this) {
+            if (id != extractionId) return;
+            extractedText = text;
+            extractionError = null;
+            extractionPending = false;
+            waiting = new ArrayList<>(listeners);
+            listeners.clear();
+        }
+        for (ExtractionListener listener : waiting) listener.onExtracted(text);
+    }
+
+    public void failExtraction(long id, Throwable t) {
+        List<ExtractionListener> waiting;
+        synchronized (this) {
+            if (id != extractionId || !extractionPending) return;
+            extractionError = t;
+            extractionPending = false;
+            waiting = new ArrayList<>(listeners);
+            listeners.clear();
+        }
+        for (ExtractionListener listener : waiting) listener.onExtractionFailed(t);
+    }
+
+    public void awaitExtraction(ExtractionListener listener) {
+        String text;
+        Throwable error;
+        synchronized (this) {
+            if (extractionPending) {
+                listeners.add(listener);
+                return;
+            }
+            text = extractedText;
+            error = extractionError;
+        }
+        if (error != null) {
+            listener.onExtractionFailed(error);
+        } else {
+            listener.onExtracted(text);
+        }
+    }
+
+    public synchronized void removeListener(ExtractionListener listener) {
+        listeners.remove(listener);
+    }
+
+    public interface ExtractionListener {
+        void onExtracted(String text);
+        void onExtractionFailed(Throwable t);
+    }
+}
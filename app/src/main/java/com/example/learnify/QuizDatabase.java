@@ -15,7 +15,6 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 
 public class QuizDatabase {
 
@@ -35,7 +34,7 @@ public class QuizDatabase {
 
     private static QuizDatabase instance;
     private final QuizDbHelper dbHelper;
-    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+    private final ExecutorService executor = AppExecutors.getInstance().db();
     private final Gson gson = new Gson();
 
     private QuizDatabase(Context context) {
@@ -50,32 +49,44 @@ public class QuizDatabase {
     }
 
     public void addQuizRecord(QuizRecord record, String quizReviewJson) {
+        executor.execute(() -> insertQuizRecord(record, quizReviewJson));
+    }
+
+    public void addQuizRecord(QuizRecord record, QuizResult result) {
+        executor.execute(() -> insertQuizRecord(record, gson.toJson(result)));
+    }
+
+    private void insertQuizRecord(QuizRecord record, String quizReviewJson) {
+        SQLiteDatabase db = dbHelper.getWritableDatabase();
+        ContentValues values = new ContentValues();
+        values.put(COL_HISTORY_ID, record.getQuizId());
+        values.put(COL_UID, record.getUid());
+        values.put(COL_TOPIC_NAME, record.getTopicName());
+        values.put(COL_SOURCE_TYPE, record.getSource());
+        values.put(COL_SOURCE_DATA, record.getSourceData());
+        values.put(COL_TOTAL_QUESTIONS, record.getTotalQuestions());
+        values.put(COL_CORRECT_ANSWERS, record.getCorrectAnswers());
+        values.put(COL_ACCURACY, record.getAccuracyPercentage());
+        values.put(COL_TIME_TAKEN_MS, record.getTimeTakenMs());
+        values.put(COL_COMPLETED_AT, record.getCompletedAt());
+        values.put(COL_DIFFICULTY, record.getDifficulty()); // Save Difficulty
+        values.put(COL_QUIZ_REVIEW_DATA, quizReviewJson);
+
+        db.insertWithOnConflict(TABLE_QUIZ_HISTORY, null, values, SQLiteDatabase.CONFLICT_REPLACE);
+        db.close();
+    }
+
+    public void updateQuizResult(String historyId, QuizResult result) {
+        String json = gson.toJson(result);
         executor.execute(() -> {
             SQLiteDatabase db = dbHelper.getWritableDatabase();
             ContentValues values = new ContentValues();
-            values.put(COL_HISTORY_ID, record.getQuizId());
-            values.put(COL_UID, record.getUid());
-            values.put(COL_TOPIC_NAME, record.getTopicName());
-            values.put(COL_SOURCE_TYPE, record.getSource());
-            values.put(COL_SOURCE_DATA, record.getSourceData());
-            values.put(COL_TOTAL_QUESTIONS, record.getTotalQuestions());
-            values.put(COL_CORRECT_ANSWERS, record.getCorrectAnswers());
-            values.put(COL_ACCURACY, record.getAccuracyPercentage());
-            values.put(COL_TIME_TAKEN_MS, record.getTimeTakenMs());
-            values.put(COL_COMPLETED_AT, record.getCompletedAt());
-            values.put(COL_DIFFICULTY, record.getDifficulty()); // Save Difficulty
-            values.put(COL_QUIZ_REVIEW_DATA, quizReviewJson);
-
-            db.insertWithOnConflict(TABLE_QUIZ_HISTORY, null, values, SQLiteDatabase.CONFLICT_REPLACE);
+            values.put(COL_QUIZ_REVIEW_DATA, json);
+            db.update(TABLE_QUIZ_HISTORY, values, COL_HISTORY_ID + " = ?", new String[]{historyId});
             db.close();
         });
     }
 
-    public void addQuizRecord(QuizRecord record, QuizResult result) {
-        String json = gson.toJson(result);
-        addQuizRecord(record, json);
-    }
-
     public void deleteQuiz(String quizId, DeleteCallback callback) {
         executor.execute(() -> {
             SQLiteDatabase db = dbHelper.getWritableDatabase();
@@ -34,13 +34,12 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
 import java.util.UUID;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 
 public class QuizGameFragment extends Fragment {
 
     private ViewPager2 viewPager;
+    private QuizQuestionAdapter questionAdapter;
     private List<QuizQuestion> questions = new ArrayList<>();
 
     private TextView tvTimer, tvQuestionNumber;
@@ -58,14 +57,18 @@ public class QuizGameFragment extends Fragment {
     private int correctAnswers = 0;
     private int wrongAnswers = 0;
     private boolean isQuizSubmitted = false;
+    private boolean isGenerationComplete = true;
     private final Map<Integer, Integer> userAnswers = new HashMap<>();
 
     private SessionManager sessionManager;
     private QuizDatabase quizDatabase;
     private QuizGenerator quizGenerator;
+    private SharedRequest.Handle generationHandle;
+    private QuizDataHolder.ExtractionListener extractionListener;
 
     private String difficultyLevel;
     private String quizLanguage;
+    private boolean bypassCache;
     private int numQuestions;
     private String sourceType;
     private String sourceData;
@@ -84,7 +87,7 @@ public class QuizGameFragment extends Fragment {
 
         sessionManager = new SessionManager(requireContext());
         quizDatabase = QuizDatabase.getInstance(requireContext());
-        quizGenerator = new QuizGenerator();
+        quizGenerator = new QuizGenerator(requireContext());
 
         aiGeneratedTopic = getString(R.string.generated_quiz);
 
@@ -95,6 +98,7 @@ public class QuizGameFragment extends Fragment {
             sourceType = getArguments().getString("SOURCE_TYPE", "UNKNOWN");
             sourceData = getArguments().getString("SOURCE_DATA", "");
             quizLanguage = getArguments().getString("LANGUAGE", "English");
+            bypassCache = getArguments().getBoolean("FRESH_QUESTIONS", false);
 
             String passedTopic = getArguments().getString("TOPIC_NAME");
             if (passedTopic != null && !passedTopic.isEmpty()) {
@@ -122,7 +126,26 @@ public class QuizGameFragment extends Fragment {
     }
 
     private void startAIGeneration() {
-        String extractedText = QuizDataHolder.getInstance().getExtractedText();
+        QuizDataHolder dataHolder = QuizDataHolder.getInstance();
+        if (dataHolder.isExtractionPending()) {
+            extractionListener = new QuizDataHolder.ExtractionListener() {
+                @Override
+                public void onExtracted(String text) {
+                    extractionListener = null;
+                    if (isAdded()) startAIGeneration();
+                }
+
+                @Override
+                public void onExtractionFailed(Throwable t) {
+                    extractionListener = null;
+                    showErrorDialog("File Error", "Could not read this file. Please try a standard PDF or Image.");
+                }
+            };
+            dataHolder.awaitExtraction(extractionListener);
+            return;
+        }
+
+        String extractedText = dataHolder.getExtractedText();
 
         if (extractedText == null || extractedText.isEmpty()) {
             showErrorDialog("Content Error", "No text found to generate quiz.");
@@ -130,6 +153,12 @@ public class QuizGameFragment extends Fragment {
         }
 
         QuizGenerator.QuizCallback callback = new QuizGenerator.QuizCallback() {
+            @Override
+            public void onQuestion(QuizQuestion question, int index) {
+                if (!isAdded()) return;
+                requireActivity().runOnUiThread(() -> appendQuestion(question));
+            }
+
             @Override
             public void onSuccess(QuizResponse response) {
                 if (!isAdded()) return;
@@ -139,22 +168,30 @@ public class QuizGameFragment extends Fragment {
                         aiGeneratedTopic = response.getTopic();
                     }
 
-                    questions = response.getQuestions();
+                    isGenerationComplete = true;
 
-                    loadingContainer.setVisibility(View.GONE);
-                    quizUiContainer.setVisibility(View.VISIBLE);
+                    if (questionAdapter == null) {
+                        questions = new ArrayList<>(response.getQuestions());
+                        showQuizUi();
+                        return;
+                    }
 
-                    setupViewPager();
-                    setupBackButton();
-                    startTimer();
-                    updateScoreboard();
+                    List<QuizQuestion> finalQuestions = response.getQuestions();
+                    for (int i = questions.size(); i < finalQuestions.size(); i++) {
+                        appendQuestion(finalQuestions.get(i));
+                    }
+                    pbQuizProgress.setMax(questions.size());
+                    if (isQuizSubmitted) setButtonToNext();
                 });
             }
 
             @Override
             public void onError(Throwable t) {
                 if (!isAdded()) return;
-                requireActivity().runOnUiThread(() -> showErrorDialog("AI Error", "Could not generate quiz. Please try again."));
+                String message = t instanceof CircuitBreaker.OpenException
+                        ? "The AI service is having trouble right now. Please try again in a minute."
+                        : "Could not generate quiz. Please try again.";
+                requireActivity().runOnUiThread(() -> showErrorDialog("AI Error", message));
             }
         };
 
@@ -162,30 +199,52 @@ public class QuizGameFragment extends Fragment {
             try {
                 Gson gson = new Gson();
                 questions = gson.fromJson(extractedText, new TypeToken<List<QuizQuestion>>(){}.getType());
-
-                loadingContainer.setVisibility(View.GONE);
-                quizUiContainer.setVisibility(View.VISIBLE);
-                setupViewPager();
-                setupBackButton();
-                startTimer();
-                updateScoreboard();
+                showQuizUi();
             } catch (Exception e) {
                 showErrorDialog("Error", "Failed to load previous questions.");
             }
 
         } else if ("REGENERATE".equals(sourceType)) {
-            quizGenerator.regenerateQuiz(extractedText, numQuestions, difficultyLevel, quizLanguage, callback);
+            isGenerationComplete = false;
+            generationHandle = quizGenerator.regenerateQuizStream(extractedText, numQuestions, difficultyLevel, quizLanguage, callback);
         } else {
-            quizGenerator.generateQuiz(extractedText, numQuestions, difficultyLevel, quizLanguage, callback);
+            isGenerationComplete = false;
+            generationHandle = quizGenerator.generateQuizStream(extractedText, numQuestions, difficultyLevel, quizLanguage, bypassCache, callback);
+        }
+    }
+
+    private void showQuizUi() {
+        loadingContainer.setVisibility(View.GONE);
+        quizUiContainer.setVisibility(View.VISIBLE);
+
+        setupViewPager();
+        setupBackButton();
+        startTimer();
+        updateScoreboard();
+    }
+
+    private void appendQuestion(QuizQuestion question) {
+        if (!isAdded()) return;
+
+        questions.add(question);
+
+        if (questionAdapter == null) {
+            showQuizUi();
+            return;
         }
+
+        questionAdapter.notifyItemInserted(questions.size() - 1);
+        viewPager.setOffscreenPageLimit(questions.size());
+        pbQuizProgress.setMax(Math.max(numQuestions, questions.size()));
+        if (isQuizSubmitted) setButtonToNext();
     }
 
     private void setupViewPager() {
         viewPager.setUserInputEnabled(false);
-        QuizQuestionAdapter questionAdapter = new QuizQuestionAdapter(this, questions);
+        questionAdapter = new QuizQuestionAdapter(this, questions);
         viewPager.setAdapter(questionAdapter);
         viewPager.setOffscreenPageLimit(questions.size());
-        pbQuizProgress.setMax(questions.size());
+        pbQuizProgress.setMax(isGenerationComplete ? questions.size() : Math.max(numQuestions, questions.size()));
 
         viewPager.registerOnPageChangeCallback(new ViewPager2.OnPageChangeCallback() {
             @Override
@@ -245,7 +304,7 @@ public class QuizGameFragment extends Fragment {
             int currentItem = viewPager.getCurrentItem();
             if (currentItem < questions.size() - 1) {
                 viewPager.setCurrentItem(currentItem + 1);
-            } else {
+            } else if (isGenerationComplete) {
                 finishQuiz();
             }
         } else {
@@ -270,8 +329,9 @@ public class QuizGameFragment extends Fragment {
     }
 
     private void setButtonToNext() {
-        btnSubmitNext.setEnabled(true);
-        if (viewPager.getCurrentItem() == questions.size() - 1) {
+        boolean isLastQuestion = viewPager.getCurrentItem() == questions.size() - 1;
+        btnSubmitNext.setEnabled(!isLastQuestion || isGenerationComplete);
+        if (isLastQuestion && isGenerationComplete) {
             btnSubmitNext.setText(getString(R.string.finish));
         } else {
             btnSubmitNext.setText(getString(R.string.next));
@@ -347,8 +407,7 @@ public class QuizGameFragment extends Fragment {
 
         QuizResult result = new QuizResult(record, questions, userAnswers);
 
-        ExecutorService executor = Executors.newSingleThreadExecutor();
-        executor.execute(() -> quizDatabase.addQuizRecord(record, result));
+        quizDatabase.addQuizRecord(record, result);
         FirestoreManager.getInstance().saveQuizResult(record, result);
 
         Bundle args = new Bundle();
@@ -368,6 +427,8 @@ public class QuizGameFragment extends Fragment {
     public void onDestroyView() {
         super.onDestroyView();
         if (countDownTimer != null) countDownTimer.cancel();
+        if (generationHandle != null) generationHandle.detach();
+        if (extractionListener != null) QuizDataHolder.getInstance().removeListener(extractionListener);
     }
 
     private void showErrorDialog(String title, String message) {
@@ -1,61 +1,181 @@
 package com.example.learnify;
 
+import android.content.Context;
+import android.util.Log;
+
 import androidx.annotation.NonNull;
 
-import com.google.ai.client.generativeai.GenerativeModel;
-import com.google.ai.client.generativeai.java.GenerativeModelFutures;
-import com.google.ai.client.generativeai.type.Content;
-import com.google.ai.client.generativeai.type.GenerateContentResponse;
 import com.google.common.util.concurrent.FutureCallback;
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
-import com.google.gson.Gson;
-
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.SettableFuture;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executor;
-import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 
 public class QuizGenerator {
 
+    private static final String TAG = "QuizGenerator";
     private static final String API_KEY = BuildConfig.GEMINI_API_KEY;
-
-    private final GenerativeModelFutures model;
+    private static final int DEFAULT_INPUT_TOKEN_BUDGET = 12000;
+    private static final int CHUNK_THRESHOLD_CHARS = 24000;
+    private static final int TARGET_CHUNK_CHARS = 12000;
+    private static final int MAX_PARALLEL_CHUNKS = 3;
+    private static final long QUIZ_DEADLINE_MS = 90000;
+    private static final long STREAM_FIRST_CHUNK_DEADLINE_MS = 30000;
+    private static final long STREAM_IDLE_DEADLINE_MS = 20000;
+    private static final long FEEDBACK_DEADLINE_MS = 45000;
+
+    private static final Map<Object, SharedQuizRequest> IN_FLIGHT_QUIZZES = new ConcurrentHashMap<>();
+    private static final Map<String, SharedFeedbackRequest> IN_FLIGHT_FEEDBACK = new ConcurrentHashMap<>();
+
+    private final QuizModelBackend backend;
     private final Executor executor;
-    private final Gson gson;
+    private final ResilientLlmClient llm;
+    private final QuizCache quizCache;
+    private volatile int inputTokenBudget = DEFAULT_INPUT_TOKEN_BUDGET;
+
+    public QuizGenerator(Context context) {
+        this(context, new GeminiBackend(API_KEY));
+    }
+
+    public QuizGenerator(Context context, QuizModelBackend backend) {
+        this(context, backend, ResilientLlmClient.getInstance());
+    }
+
+    QuizGenerator(Context context, QuizModelBackend backend, ResilientLlmClient llm) {
+        this.backend = backend;
+        this.executor = AppExecutors.getInstance().newSerialExecutor(AppExecutors.getInstance().io());
+        this.llm = llm;
+        this.quizCache = QuizCache.getInstance(context);
+    }
+
+    public SharedRequest.Handle generateQuiz(String text, int numQuestions, String difficulty, String language, QuizCallback callback) {
+        return generateQuiz(text, numQuestions, difficulty, language, false, callback);
+    }
+
+    public SharedRequest.Handle generateQuiz(String text, int numQuestions, String difficulty, String language, boolean bypassCache, QuizCallback callback) {
+        return joinOrStart(new GenerateKey(text, numQuestions, difficulty, language, bypassCache), callback,
+                request -> generate(text, numQuestions, difficulty, language, bypassCache, false, request));
+    }
+
+    public SharedRequest.Handle generateQuizStream(String text, int numQuestions, String difficulty, String language, boolean bypassCache, QuizCallback callback) {
+        return joinOrStart(new GenerateKey(text, numQuestions, difficulty, language, bypassCache), callback,
+                request -> generate(text, numQuestions, difficulty, language, bypassCache, true, request));
+    }
+
+    public SharedRequest.Handle prefetchQuiz(String text, int numQuestions, String difficulty, String language) {
+        return generateQuizStream(text, numQuestions, difficulty, language, false, new QuizCallback() {
+            @Override
+            public void onSuccess(QuizResponse response) {
+                Log.d(TAG, "Speculative quiz ready");
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                Log.d(TAG, "Speculative quiz dropped: " + t);
+            }
+        });
+    }
 
-    public QuizGenerator() {
-        GenerativeModel gm = new GenerativeModel("gemini-2.0-flash", API_KEY);
-        this.model = GenerativeModelFutures.from(gm);
-        this.executor = Executors.newSingleThreadExecutor();
-        this.gson = new Gson();
+    private SharedRequest.Handle joinOrStart(Object key, QuizCallback callback, Consumer<SharedQuizRequest> starter) {
+        boolean[] created = {false};
+        SharedQuizRequest request = IN_FLIGHT_QUIZZES.computeIfAbsent(key, k -> {
+            created[0] = true;
+            return new SharedQuizRequest();
+        });
+
+        SharedRequest.Handle handle = request.attach(callback);
+        if (created[0]) {
+            request.getFuture().addListener(() -> IN_FLIGHT_QUIZZES.remove(key, request), MoreExecutors.directExecutor());
+            starter.accept(request);
+        } else {
+            String label = key.toString();
+            Log.d(TAG, "Joined in-flight request " + label.substring(0, Math.min(label.length(), 24)));
+        }
+        return handle;
     }
 
-    public void generateQuiz(String text, int numQuestions, String difficulty, String language, QuizCallback callback) {
+    private void generate(String text, int numQuestions, String difficulty, String language, boolean bypassCache, boolean stream, QuizCallback callback) {
+        executor.execute(() -> {
+            if (callback.isCancelled()) return;
+
+            String cacheKey = QuizCache.key(text, numQuestions, difficulty, language);
+
+            if (!bypassCache) {
+                QuizResponse cached = quizCache.get(cacheKey);
+                if (cached != null) {
+                    callback.onSuccess(cached);
+                    return;
+                }
+            }
+
+            String input = compressInput(text);
+
+            if (input.length() > CHUNK_THRESHOLD_CHARS) {
+                generateChunked(input, numQuestions, difficulty, language, cacheKey, callback);
+            } else if (stream) {
+                sendStreamRequest(buildGeneratePrompt(input, numQuestions, difficulty, language), numQuestions, cacheKey, callback);
+            } else {
+                sendRequest(buildGeneratePrompt(input, numQuestions, difficulty, language), numQuestions, cacheKey, callback);
+            }
+        });
+    }
+
+    public void setInputTokenBudget(int inputTokenBudget) {
+        this.inputTokenBudget = inputTokenBudget;
+    }
+
+    private String compressInput(String text) {
+        TextCompressor.Result result = TextCompressor.compress(text, inputTokenBudget);
+        if (result.getReductionRatio() > 0) {
+            Log.d(TAG, String.format(Locale.ROOT, "Input compressed %d -> %d chars (%.0f%% reduction)",
+                    result.getOriginalChars(), result.getCompressedChars(), result.getReductionRatio() * 100));
+        }
+        return result.getText();
+    }
+
+    private String buildGeneratePrompt(String text, int numQuestions, String difficulty, String language) {
         String langInstruction = language.equals("English")
                 ? "Generate the quiz strictly in English. If the input text is in another language, translate the concepts and generate English questions."
                 : "Generate the quiz in the same language as the input text.";
 
-        String prompt = "Analyze the text below and generate a " + difficulty + " level quiz with " + numQuestions + " multiple-choice questions.\n" +
+        return "Analyze the text below and generate a " + difficulty + " level quiz with " + numQuestions + " multiple-choice questions.\n" +
                 "You must also generate a short, descriptive 'topic' title (max 5 words) that summarizes what this text is about.\n" +
                 langInstruction + "\n\n" +
-                "Return the output strictly as a raw JSON Object (no Markdown). The schema is:\n" +
-                "{\n" +
-                "  \"topic\": \"string\",\n" +
-                "  \"questions\": [\n" +
-                "    { \"questionText\": \"string\", \"explanation\": \"string\", \"answers\": [ { \"answerText\": \"string\", \"isCorrect\": boolean } ] }\n" +
-                "  ]\n" +
-                "}\n\n" +
+                "Return a JSON object with the 'topic' and the 'questions'.\n\n" +
                 "Ensure exactly 4 options per question.\n" +
                 "Text to analyze: " + text;
+    }
 
-        sendRequest(prompt, callback);
+    public SharedRequest.Handle regenerateQuiz(String oldQuestionsJson, int numQuestions, String difficulty, String language, QuizCallback callback) {
+        String prompt = buildRegeneratePrompt(oldQuestionsJson, numQuestions, difficulty, language);
+        return joinOrStart("regenerate:" + DiskCache.sha256(prompt), callback, request -> sendRequest(prompt, numQuestions, null, request));
     }
 
-    public void regenerateQuiz(String oldQuestionsJson, int numQuestions, String difficulty, String language, QuizCallback callback) {
+    public SharedRequest.Handle regenerateQuizStream(String oldQuestionsJson, int numQuestions, String difficulty, String language, QuizCallback callback) {
+        String prompt = buildRegeneratePrompt(oldQuestionsJson, numQuestions, difficulty, language);
+        return joinOrStart("regenerate:" + DiskCache.sha256(prompt), callback, request -> sendStreamRequest(prompt, numQuestions, null, request));
+    }
+
+    private String buildRegeneratePrompt(String oldQuestionsJson, int numQuestions, String difficulty, String language) {
         String langInstruction = language.equals("English")
                 ? "Generate the quiz strictly in English."
                 : "Generate the quiz in the same language as the input context.";
 
-        String prompt = "You are a Quiz Re-mastering Engine. I will provide a list of old quiz questions in JSON format.\n" +
+        return "You are a Quiz Re-mastering Engine. I will provide a list of old quiz questions in JSON format.\n" +
                 "Your task is to generate a NEW " + difficulty + " level quiz with " + numQuestions + " questions based strictly on the concepts covered in the input questions.\n\n" +
                 "RULES:\n" +
                 "1. Do NOT simply copy the old questions. Rephrase them, turn them into scenario-based questions, or ask about the same concept from a different angle.\n" +
@@ -63,49 +183,141 @@ public class QuizGenerator {
                 "3. Keep the same 'topic' title as the input context.\n" +
                 "   - If the topic is originally in a different language than the required output language (Instruction 4), TRANSLATE the topic into the output language.\n" +
                 "4. " + langInstruction + "\n" +
-                "5. Return strictly raw JSON Object (no Markdown) matching this schema:\n" +
-                "{\n" +
-                "  \"topic\": \"string\",\n" +
-                "  \"questions\": [\n" +
-                "    { \"questionText\": \"string\", \"explanation\": \"string\", \"answers\": [ { \"answerText\": \"string\", \"isCorrect\": boolean } ] }\n" +
-                "  ]\n" +
-                "}\n\n" +
+                "5. Return a JSON object with the 'topic' and the 'questions'.\n\n" +
                 "Ensure exactly 4 options per question.\n" +
                 "Input Questions JSON: " + oldQuestionsJson;
+    }
 
-        sendRequest(prompt, callback);
+    private void sendRequest(String prompt, int numQuestions, String cacheKey, QuizCallback callback) {
+        Futures.addCallback(requestQuiz(prompt, numQuestions), new FutureCallback<>() {
+            @Override
+            public void onSuccess(QuizResponse response) {
+                storeInCache(cacheKey, response);
+                callback.onSuccess(response);
+            }
+
+            @Override
+            public void onFailure(@NonNull Throwable t) {
+                callback.onError(t);
+            }
+        }, executor);
     }
 
-    private void sendRequest(String prompt, QuizCallback callback) {
-        Content content = new Content.Builder()
-                .addText(prompt)
-                .build();
+    private ListenableFuture<QuizResponse> requestQuiz(String prompt, int numQuestions) {
+        ListenableFuture<QuizResponse> first = requestQuizOnce(prompt);
+        return Futures.transformAsync(first, partial -> topUp(prompt, numQuestions, partial, null), executor);
+    }
 
-        ListenableFuture<GenerateContentResponse> responseFuture = model.generateContent(content);
+    private ListenableFuture<QuizResponse> requestQuizOnce(String prompt) {
+        ListenableFuture<String> responseFuture =
+                llm.call("quiz", QUIZ_DEADLINE_MS, () -> backend.generate(prompt, QuizModelBackend.Format.QUIZ_JSON));
+        return Futures.transform(responseFuture, QuizJsonDecoder::decode, executor);
+    }
 
-        Futures.addCallback(responseFuture, new FutureCallback<>() {
-            @Override
-            public void onSuccess(GenerateContentResponse result) {
-                try {
-                    String jsonResponse = result.getText();
+    private ListenableFuture<QuizResponse> topUp(String prompt, int numQuestions, QuizResponse partial, QuizCallback emitTo) {
+        int missing = numQuestions - partial.getQuestions().size();
+        if (missing <= 0) return Futures.immediateFuture(partial);
 
-                    if (jsonResponse != null && jsonResponse.startsWith("```json")) {
-                        jsonResponse = jsonResponse.replace("```json", "").replace("```", "");
-                    }
-                    if (jsonResponse != null && jsonResponse.endsWith("```")) {
-                        jsonResponse = jsonResponse.substring(0, jsonResponse.length() - 3);
-                    }
+        Log.w(TAG, "Salvaged " + partial.getQuestions().size() + "/" + numQuestions + " questions, requesting " + missing + " more");
+
+        ListenableFuture<QuizResponse> extra = Futures.catching(
+                requestQuizOnce(buildTopUpPrompt(prompt, missing, partial.getQuestions())),
+                Throwable.class, t -> new QuizResponse(null, new ArrayList<>()), executor);
+
+        return Futures.transform(extra, more -> {
+            QuizMerger merger = new QuizMerger(numQuestions);
+            merger.add(partial);
+
+            List<QuizQuestion> questions = new ArrayList<>(partial.getQuestions());
+            for (QuizQuestion question : merger.add(more)) {
+                if (questions.size() >= numQuestions) break;
+                questions.add(question);
+                if (emitTo != null) emitTo.onQuestion(question, questions.size() - 1);
+            }
+
+            if (questions.isEmpty()) {
+                throw new IllegalStateException("AI returned empty quiz data.");
+            }
+            String topic = partial.getTopic() != null ? partial.getTopic() : more.getTopic();
+            return new QuizResponse(topic, questions);
+        }, executor);
+    }
+
+    private String buildTopUpPrompt(String originalPrompt, int missing, List<QuizQuestion> existing) {
+        StringBuilder prompt = new StringBuilder();
+        prompt.append("Generate exactly ").append(missing).append(" more multiple-choice questions for the request below.\n");
+        if (!existing.isEmpty()) {
+            prompt.append("Do NOT repeat any of these questions that were already generated:\n");
+            for (QuizQuestion question : existing) {
+                prompt.append("- ").append(question.getQuestionText()).append("\n");
+            }
+        }
+        prompt.append("\nOriginal request:\n").append(originalPrompt);
+        return prompt.toString();
+    }
+
+    private void storeInCache(String cacheKey, QuizResponse response) {
+        if (cacheKey != null) quizCache.put(cacheKey, response);
+    }
+
+    private void generateChunked(String text, int numQuestions, String difficulty, String language, String cacheKey, QuizCallback callback) {
+        int chunkCount = Math.min(numQuestions, (text.length() + TARGET_CHUNK_CHARS - 1) / TARGET_CHUNK_CHARS);
+        List<String> chunks = TextChunker.split(text, chunkCount);
+        new ChunkedGeneration(chunks, numQuestions, difficulty, language, cacheKey, callback).start();
+    }
+
+    private void sendStreamRequest(String prompt, int numQuestions, String cacheKey, QuizCallback callback) {
+        StreamingQuizParser parser = new StreamingQuizParser(callback::onQuestion);
+
+        Publisher<String> stream = llm.stream("quiz-stream", STREAM_FIRST_CHUNK_DEADLINE_MS, STREAM_IDLE_DEADLINE_MS, QUIZ_DEADLINE_MS,
+                () -> backend.generateStream(prompt, QuizModelBackend.Format.QUIZ_JSON));
 
-                    QuizResponse response = gson.fromJson(jsonResponse, QuizResponse.class);
+        stream.subscribe(new Subscriber<String>() {
+            private Subscription subscription;
 
-                    if (response == null || response.getQuestions() == null || response.getQuestions().isEmpty()) {
-                        callback.onError(new Exception("AI returned empty quiz data."));
+            @Override
+            public void onSubscribe(Subscription subscription) {
+                this.subscription = subscription;
+                subscription.request(Long.MAX_VALUE);
+            }
+
+            @Override
+            public void onNext(String text) {
+                if (callback.isCancelled()) {
+                    subscription.cancel();
+                    return;
+                }
+                executor.execute(() -> parser.feed(text));
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                executor.execute(() -> {
+                    List<QuizQuestion> parsed = parser.getQuestions();
+                    if (parsed.isEmpty()) {
+                        callback.onError(t);
                     } else {
-                        callback.onSuccess(response);
+                        finishStream(prompt, numQuestions, new QuizResponse(parser.getTopic(), parsed), null, callback);
                     }
-                } catch (Exception e) {
-                    callback.onError(e);
-                }
+                });
+            }
+
+            @Override
+            public void onComplete() {
+                executor.execute(() -> finishStream(prompt, numQuestions,
+                        new QuizResponse(parser.getTopic(), parser.getQuestions()), cacheKey, callback));
+            }
+        });
+    }
+
+    private void finishStream(String prompt, int numQuestions, QuizResponse partial, String cacheKey, QuizCallback callback) {
+        if (callback.isCancelled()) return;
+
+        Futures.addCallback(topUp(prompt, numQuestions, partial, callback), new FutureCallback<>() {
+            @Override
+            public void onSuccess(QuizResponse response) {
+                storeInCache(cacheKey, response);
+                callback.onSuccess(response);
             }
 
             @Override
@@ -115,7 +327,38 @@ public class QuizGenerator {
         }, executor);
     }
 
-    public void generateFeedback(QuizResult result, FeedbackCallback callback) {
+    public SharedRequest.Handle generateFeedback(QuizResult result, FeedbackCallback callback) {
+        return feedback(result, false, callback);
+    }
+
+    public SharedRequest.Handle generateFeedbackStream(QuizResult result, FeedbackCallback callback) {
+        return feedback(result, true, callback);
+    }
+
+    private SharedRequest.Handle feedback(QuizResult result, boolean stream, FeedbackCallback callback) {
+        String prompt = buildFeedbackPrompt(result);
+        String key = "feedback:" + DiskCache.sha256(prompt);
+
+        boolean[] created = {false};
+        SharedFeedbackRequest request = IN_FLIGHT_FEEDBACK.computeIfAbsent(key, k -> {
+            created[0] = true;
+            return new SharedFeedbackRequest();
+        });
+
+        SharedRequest.Handle handle = request.attach(callback);
+
+        if (created[0]) {
+            request.getFuture().addListener(() -> IN_FLIGHT_FEEDBACK.remove(key, request), MoreExecutors.directExecutor());
+            if (stream) {
+                sendFeedbackStreamRequest(prompt, request);
+            } else {
+                sendFeedbackRequest(prompt, request);
+            }
+        }
+        return handle;
+    }
+
+    private String buildFeedbackPrompt(QuizResult result) {
         double accuracy = result.getQuizRecord().getAccuracyPercentage();
         StringBuilder promptBuilder = new StringBuilder();
 
@@ -154,33 +397,240 @@ public class QuizGenerator {
             promptBuilder.append("6. ADVICE: Offer encouraging advice to review the fundamentals before retaking.\n");
         }
 
-        Content content = new Content.Builder()
-                .addText(promptBuilder.toString())
-                .build();
+        return promptBuilder.toString();
+    }
 
-        ListenableFuture<GenerateContentResponse> responseFuture = model.generateContent(content);
+    private void sendFeedbackRequest(String prompt, SharedFeedbackRequest request) {
+        ListenableFuture<String> responseFuture =
+                llm.call("feedback", FEEDBACK_DEADLINE_MS, () -> backend.generate(prompt, QuizModelBackend.Format.TEXT));
 
         Futures.addCallback(responseFuture, new FutureCallback<>() {
             @Override
-            public void onSuccess(GenerateContentResponse result) {
-                String text = result.getText();
-                callback.onSuccess(text);
+            public void onSuccess(String feedback) {
+                request.onSuccess(feedback);
             }
 
             @Override
             public void onFailure(@NonNull Throwable t) {
-                callback.onError(t);
+                request.onError(t);
             }
         }, executor);
     }
 
+    private void sendFeedbackStreamRequest(String prompt, SharedFeedbackRequest request) {
+        StringBuilder feedback = new StringBuilder();
+
+        Publisher<String> stream = llm.stream("feedback-stream", STREAM_FIRST_CHUNK_DEADLINE_MS, STREAM_IDLE_DEADLINE_MS, FEEDBACK_DEADLINE_MS,
+                () -> backend.generateStream(prompt, QuizModelBackend.Format.TEXT));
+
+        stream.subscribe(new Subscriber<String>() {
+            private Subscription subscription;
+
+            @Override
+            public void onSubscribe(Subscription subscription) {
+                this.subscription = subscription;
+                subscription.request(Long.MAX_VALUE);
+            }
+
+            @Override
+            public void onNext(String text) {
+                if (request.isCancelled()) {
+                    subscription.cancel();
+                    return;
+                }
+                executor.execute(() -> {
+                    if (text == null) return;
+                    feedback.append(text);
+                    request.onPartial(feedback.toString());
+                });
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                executor.execute(() -> {
+                    if (feedback.length() == 0) {
+                        request.onError(t);
+                    } else {
+                        Log.w(TAG, "Feedback stream ended early, keeping " + feedback.length() + " chars: " + t);
+                        request.onSuccess(feedback.toString());
+                    }
+                });
+            }
+
+            @Override
+            public void onComplete() {
+                executor.execute(() -> {
+                    if (feedback.length() == 0) {
+                        request.onError(new Exception("AI returned empty feedback."));
+                    } else {
+                        request.onSuccess(feedback.toString());
+                    }
+                });
+            }
+        });
+    }
+
+    private class ChunkedGeneration {
+        private final List<String> chunks;
+        private final int[] shares;
+        private final String difficulty;
+        private final String language;
+        private final String cacheKey;
+        private final QuizCallback callback;
+        private final QuizMerger merger;
+        private final List<SettableFuture<QuizResponse>> results = new ArrayList<>();
+        private final AtomicInteger nextChunk = new AtomicInteger();
+        private volatile Throwable firstFailure;
+
+        ChunkedGeneration(List<String> chunks, int numQuestions, String difficulty, String language, String cacheKey, QuizCallback callback) {
+            this.chunks = chunks;
+            this.shares = allocateQuestions(chunks, numQuestions);
+            this.difficulty = difficulty;
+            this.language = language;
+            this.cacheKey = cacheKey;
+            this.callback = callback;
+            this.merger = new QuizMerger(numQuestions);
+            for (int i = 0; i < chunks.size(); i++) {
+                results.add(SettableFuture.create());
+            }
+        }
+
+        void start() {
+            Futures.addCallback(Futures.successfulAsList(results), new FutureCallback<>() {
+                @Override
+                public void onSuccess(List<QuizResponse> responses) {
+                    if (callback.isCancelled()) return;
+                    if (merger.size() == 0) {
+                        callback.onError(firstFailure != null ? firstFailure : new Exception("AI returned empty quiz data."));
+                    } else {
+                        QuizResponse merged = merger.result();
+                        if (firstFailure == null) storeInCache(cacheKey, merged);
+                        callback.onSuccess(merged);
+                    }
+                }
+
+                @Override
+                public void onFailure(@NonNull Throwable t) {
+                    callback.onError(t);
+                }
+            }, executor);
+
+            int lanes = Math.min(MAX_PARALLEL_CHUNKS, chunks.size());
+            for (int i = 0; i < lanes; i++) {
+                launchNext();
+            }
+        }
+
+        private void launchNext() {
+            if (callback.isCancelled()) {
+                for (SettableFuture<QuizResponse> result : results) result.cancel(false);
+                return;
+            }
+
+            int index = nextChunk.getAndIncrement();
+            if (index >= chunks.size()) return;
+
+            String prompt = buildGeneratePrompt(chunks.get(index), shares[index], difficulty, language);
+            Futures.addCallback(requestQuiz(prompt, shares[index]), new FutureCallback<>() {
+                @Override
+                public void onSuccess(QuizResponse response) {
+                    List<QuizQuestion> accepted = merger.add(response);
+                    int firstIndex = merger.size() - accepted.size();
+                    for (int i = 0; i < accepted.size(); i++) {
+                        callback.onQuestion(accepted.get(i), firstIndex + i);
+                    }
+                    results.get(index).set(response);
+                    launchNext();
+                }
+
+                @Override
+                public void onFailure(@NonNull Throwable t) {
+                    if (firstFailure == null) firstFailure = t;
+                    results.get(index).setException(t);
+                    launchNext();
+                }
+            }, executor);
+        }
+    }
+
+    private static int[] allocateQuestions(List<String> chunks, int numQuestions) {
+        int[] shares = new int[chunks.size()];
+        long totalLength = 0;
+        for (String chunk : chunks) totalLength += chunk.length();
+
+        int assigned = 0;
+        for (int i = 0; i < chunks.size(); i++) {
+            shares[i] = Math.max(1, (int) (numQuestions * chunks.get(i).length() / Math.max(1, totalLength)));
+            assigned += shares[i];
+        }
+
+        int i = 0;
+        while (assigned < numQuestions) {
+            shares[i % shares.length]++;
+            assigned++;
+            i++;
+        }
+        while (assigned > numQuestions) {
+            int largest = 0;
+            for (int j = 1; j < shares.length; j++) {
+                if (shares[j] > shares[largest]) largest = j;
+            }
+            if (shares[largest] <= 1) break;
+            shares[largest]--;
+            assigned--;
+        }
+        return shares;
+    }
+
+    private static final class GenerateKey {
+        private final String text;
+        private final int numQuestions;
+        private final String difficulty;
+        private final String language;
+        private final boolean bypassCache;
+
+        GenerateKey(String text, int numQuestions, String difficulty, String language, boolean bypassCache) {
+            this.text = text;
+            this.numQuestions = numQuestions;
+            this.difficulty = difficulty;
+            this.language = language;
+            this.bypassCache = bypassCache;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof GenerateKey)) return false;
+            GenerateKey other = (GenerateKey) o;
+            return text == other.text && numQuestions == other.numQuestions && bypassCache == other.bypassCache
+                    && Objects.equals(difficulty, other.difficulty) && Objects.equals(language, other.language);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(System.identityHashCode(text), numQuestions, difficulty, language, bypassCache);
+        }
+
+        @Override
+        public String toString() {
+            return "generate:" + numQuestions + ":" + difficulty + ":" + language;
+        }
+    }
+
     public interface QuizCallback {
         void onSuccess(QuizResponse response);
         void onError(Throwable t);
+
+        default void onQuestion(QuizQuestion question, int index) {}
+
+        default boolean isCancelled() {
+            return false;
+        }
     }
 
     public interface FeedbackCallback {
         void onSuccess(String feedback);
         void onError(Throwable t);
+
+        default void onPartial(String feedbackSoFar) {}
     }
 }
\ No newline at end of file
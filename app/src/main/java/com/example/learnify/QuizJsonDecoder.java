@@ -0,0 +1,160 @@
+package com.example.learnify;
+
+import com.google.gson.Strictness;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+public class QuizJsonDecoder {
+
+    private QuizJsonDecoder() {}
+
+    public static QuizResponse decode(String raw) {
+        List<QuizQuestion> questions = new ArrayList<>();
+        String topic = null;
+
+        if (raw == null) return new QuizResponse(null, questions);
+
+        int start = firstJsonIndex(raw);
+        if (start < 0) return new QuizResponse(null, questions);
+
+        JsonReader reader = new JsonReader(new StringReader(raw.substring(start)));
+        reader.setStrictness(Strictness.LENIENT);
+
+        try {
+            if (reader.peek() == JsonToken.BEGIN_ARRAY) {
+                readQuestions(reader, questions);
+            } else {
+                reader.beginObject();
+                while (reader.hasNext()) {
+                    String name = reader.nextName();
+                    if ("topic".equals(name) && reader.peek() == JsonToken.STRING) {
+                        topic = reader.nextString();
+                    } else if ("questions".equals(name) && reader.peek() == JsonToken.BEGIN_ARRAY) {
+                        readQuestions(reader, questions);
+                    } else {
+                        reader.skipValue();
+                    }
+                }
+            }
+        } catch (IOException | RuntimeException ignored) {
+        }
+
+        return new QuizResponse(topic, questions);
+    }
+
+    public static QuizQuestion decodeQuestion(String json) {
+        try {
+            JsonReader reader = new JsonReader(new StringReader(json));
+            reader.setStrictness(Strictness.LENIENT);
+            QuizQuestion question = readQuestion(reader);
+            return isValid(question) ? question : null;
+        } catch (IOException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    public static String decodeString(String rawContent) {
+        try {
+            JsonReader reader = new JsonReader(new StringReader("\"" + rawContent + "\""));
+            reader.setStrictness(Strictness.LENIENT);
+            return reader.nextString();
+        } catch (IOException | RuntimeException e) {
+            return rawContent;
+        }
+    }
+
+    private static void readQuestions(JsonReader reader, List<QuizQuestion> out) throws IOException {
+        reader.beginArray();
+        while (reader.hasNext()) {
+            if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+                reader.skipValue();
+                continue;
+            }
+            QuizQuestion question = readQuestion(reader);
+            if (isValid(question)) out.add(question);
+        }
+        reader.endArray();
+    }
+
+    private static QuizQuestion readQuestion(JsonReader reader) throws IOException {
+        String questionText = null;
+        String explanation = null;
+        List<QuizAnswer> answers = new ArrayList<>();
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            JsonToken token = reader.peek();
+            if ("questionText".equals(name) && token == JsonToken.STRING) {
+                questionText = reader.nextString();
+            } else if ("explanation".equals(name) && token == JsonToken.STRING) {
+                explanation = reader.nextString();
+            } else if ("answers".equals(name) && token == JsonToken.BEGIN_ARRAY) {
+                reader.beginArray();
+                while (reader.hasNext()) {
+                    QuizAnswer answer = readAnswer(reader);
+                    if (answer != null) answers.add(answer);
+                }
+                reader.endArray();
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+
+        return new QuizQuestion(questionText, answers, explanation);
+    }
+
+    private static QuizAnswer readAnswer(JsonReader reader) throws IOException {
+        if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+            reader.skipValue();
+            return null;
+        }
+
+        String answerText = null;
+        boolean isCorrect = false;
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            JsonToken token = reader.peek();
+            if ("answerText".equals(name) && token == JsonToken.STRING) {
+                answerText = reader.nextString();
+            } else if ("isCorrect".equals(name) && token == JsonToken.BOOLEAN) {
+                isCorrect = reader.nextBoolean();
+            } else if ("isCorrect".equals(name) && token == JsonToken.STRING) {
+                isCorrect = Boolean.parseBoolean(reader.nextString());
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+
+        return answerText == null ? null : new QuizAnswer(answerText, isCorrect);
+    }
+
+    private static boolean isValid(QuizQuestion question) {
+        if (question == null || question.getQuestionText() == null || question.getQuestionText().trim().isEmpty()) {
+            return false;
+        }
+        if (question.getAnswers() == null || question.getAnswers().size() < 2) return false;
+
+        for (QuizAnswer answer : question.getAnswers()) {
+            if (answer.isCorrect()) return true;
+        }
+        return false;
+    }
+
+    private static int firstJsonIndex(String raw) {
+        for (int i = 0; i < raw.length(); i++) {
+            char c = raw.charAt(i);
+            if (c == '{' || c == '[') return i;
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.learnify;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+public class QuizMerger {
+
+    private static final double DUPLICATE_THRESHOLD = 0.7;
+
+    private final int maxQuestions;
+    private final List<QuizQuestion> questions = new ArrayList<>();
+    private final List<Set<String>> questionTokens = new ArrayList<>();
+    private final Map<String, Integer> topicVotes = new LinkedHashMap<>();
+    private final Map<String, String> topicLabels = new LinkedHashMap<>();
+
+    public QuizMerger(int maxQuestions) {
+        this.maxQuestions = maxQuestions;
+    }
+
+    public List<QuizQuestion> add(QuizResponse response) {
+        List<QuizQuestion> accepted = new ArrayList<>();
+        if (response == null) return accepted;
+
+        voteTopic(response.getTopic());
+
+        if (response.getQuestions() == null) return accepted;
+
+        for (QuizQuestion question : response.getQuestions()) {
+            if (questions.size() >= maxQuestions) break;
+            if (question == null || question.getQuestionText() == null) continue;
+
+            Set<String> tokens = tokenize(question.getQuestionText());
+            if (isDuplicate(tokens)) continue;
+
+            questions.add(question);
+            questionTokens.add(tokens);
+            accepted.add(question);
+        }
+        return accepted;
+    }
+
+    public QuizResponse result() {
+        return new QuizResponse(pickTopic(), new ArrayList<>(questions));
+    }
+
+    public int size() {
+        return questions.size();
+    }
+
+    private boolean isDuplicate(Set<String> tokens) {
+        for (Set<String> existing : questionTokens) {
+            if (similarity(tokens, existing) >= DUPLICATE_THRESHOLD) return true;
+        }
+        return false;
+    }
+
+    private static double similarity(Set<String> a, Set<String> b) {
+        if (a.isEmpty() && b.isEmpty()) return 1.0;
+        int intersection = 0;
+        for (String token : a) {
+            if (b.contains(token)) intersection++;
+        }
+        int union = a.size() + b.size() - intersection;
+        return union == 0 ? 0.0 : (double) intersection / union;
+    }
+
+    private static Set<String> tokenize(String text) {
+        Set<String> tokens = new HashSet<>();
+        for (String word : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (word.length() > 2) tokens.add(word);
+        }
+        return tokens;
+    }
+
+    private void voteTopic(String topic) {
+        if (topic == null || topic.trim().isEmpty()) return;
+        String key = topic.trim().toLowerCase(Locale.ROOT);
+        Integer votes = topicVotes.get(key);
+        topicVotes.put(key, votes == null ? 1 : votes + 1);
+        if (!topicLabels.containsKey(key)) topicLabels.put(key, topic.trim());
+    }
+
+    private String pickTopic() {
+        String best = null;
+        int bestVotes = 0;
+        for (Map.Entry<String, Integer> entry : topicVotes.entrySet()) {
+            if (entry.getValue() > bestVotes) {
+                best = entry.getKey();
+                bestVotes = entry.getValue();
+            }
+        }
+        return best == null ? null : topicLabels.get(best);
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.learnify;
+
+import com.google.common.util.concurrent.ListenableFuture;
+
+import org.reactivestreams.Publisher;
+
+public interface QuizModelBackend {
+
+    enum Format { TEXT, QUIZ_JSON }
+
+    ListenableFuture<String> generate(String prompt, Format format);
+
+    Publisher<String> generateStream(String prompt, Format format);
+}
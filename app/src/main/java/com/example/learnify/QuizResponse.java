@@ -6,6 +6,11 @@ public class QuizResponse {
     private String topic;
     private List<QuizQuestion> questions;
 
+    public QuizResponse(String topic, List<QuizQuestion> questions) {
+        this.topic = topic;
+        this.questions = questions;
+    }
+
     public String getTopic() {
         return topic;
     }
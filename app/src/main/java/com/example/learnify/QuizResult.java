@@ -8,7 +8,7 @@ public class QuizResult implements Serializable {
     private final QuizRecord quizRecord;
     private final List<QuizQuestion> questions;
     private final Map<Integer, Integer> userAnswers;
-
+    private String aiFeedback;
 
     public QuizResult(QuizRecord quizRecord, List<QuizQuestion> questions, Map<Integer, Integer> userAnswers) {
         this.quizRecord = quizRecord;
@@ -19,4 +19,6 @@ public class QuizResult implements Serializable {
     public QuizRecord getQuizRecord() { return quizRecord; }
     public List<QuizQuestion> getQuestions() { return questions; }
     public Map<Integer, Integer> getUserAnswers() { return userAnswers; }
+    public String getAiFeedback() { return aiFeedback; }
+    public void setAiFeedback(String aiFeedback) { this.aiFeedback = aiFeedback; }
 }
\ No newline at end of file
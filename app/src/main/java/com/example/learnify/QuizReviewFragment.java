@@ -9,6 +9,7 @@ import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
 import android.widget.Button;
+import android.widget.LinearLayout;
 import android.widget.TextView;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
@@ -29,6 +30,8 @@ public class QuizReviewFragment extends Fragment {
     private QuizResult currentQuizResult;
 
     private TextView tvTopic, tvDiff, tvQs, tvScore, tvTime, tvDate;
+    private TextView tvFeedback;
+    private LinearLayout llFeedback;
     private RecyclerView rvQuestions;
 
     public static QuizReviewFragment newInstance(String quizId) {
@@ -66,6 +69,8 @@ public class QuizReviewFragment extends Fragment {
         tvScore = view.findViewById(R.id.tv_stat_score);
         tvTime = view.findViewById(R.id.tv_stat_time);
         rvQuestions = view.findViewById(R.id.rv_review_questions);
+        tvFeedback = view.findViewById(R.id.tv_review_feedback);
+        llFeedback = view.findViewById(R.id.ll_review_feedback);
 
         view.findViewById(R.id.back_button_container).setOnClickListener(v -> requireActivity().getSupportFragmentManager().popBackStack());
         view.findViewById(R.id.delete_button_container).setOnClickListener(v -> showDeleteDialog());
@@ -109,6 +114,12 @@ public class QuizReviewFragment extends Fragment {
 
                 tvTime.setText(record.getTimeFormatted(getContext()));
 
+                String feedback = result.getAiFeedback();
+                if (feedback != null && !feedback.isEmpty()) {
+                    tvFeedback.setText(feedback);
+                    llFeedback.setVisibility(View.VISIBLE);
+                }
+
                 ReviewQuestionAdapter adapter = new ReviewQuestionAdapter(
                         result.getQuestions(),
                         result.getUserAnswers()
@@ -0,0 +1,440 @@
+package com.example.learnify;
+
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+
+import com.google.ai.client.generativeai.type.RequestTimeoutException;
+import com.google.ai.client.generativeai.type.ServerException;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.SettableFuture;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+public class ResilientLlmClient {
+
+    private static final String TAG = "ResilientLlmClient";
+    private static final int MAX_ATTEMPTS = 3;
+    private static final long BASE_BACKOFF_MS = 500;
+    private static final long MAX_BACKOFF_MS = 8000;
+    private static final int MIN_HEDGE_SAMPLES = 20;
+    private static final long MIN_HEDGE_DELAY_MS = 1000;
+    private static final int FAILURE_THRESHOLD = 5;
+    private static final long OPEN_MILLIS = 30000;
+
+    private static ResilientLlmClient instance;
+
+    private final ScheduledExecutorService scheduler = AppExecutors.getInstance().scheduler();
+    private final CircuitBreaker breaker = new CircuitBreaker(FAILURE_THRESHOLD, OPEN_MILLIS);
+    private final Map<String, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+
+    private final AtomicLong calls = new AtomicLong();
+    private final AtomicLong successes = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private final AtomicLong retries = new AtomicLong();
+    private final AtomicLong timeouts = new AtomicLong();
+    private final AtomicLong hedges = new AtomicLong();
+    private final AtomicLong hedgeWins = new AtomicLong();
+    private final AtomicLong shortCircuits = new AtomicLong();
+
+    private volatile boolean hedgingEnabled = true;
+
+    ResilientLlmClient() {}
+
+    public static synchronized ResilientLlmClient getInstance() {
+        if (instance == null) {
+            instance = new ResilientLlmClient();
+        }
+        return instance;
+    }
+
+    public void setHedgingEnabled(boolean hedgingEnabled) {
+        this.hedgingEnabled = hedgingEnabled;
+    }
+
+    public <T> ListenableFuture<T> call(String operation, long deadlineMs, Supplier<ListenableFuture<T>> request) {
+        calls.incrementAndGet();
+        SettableFuture<T> result = SettableFuture.create();
+        AtomicReference<Future<?>> current = new AtomicReference<>();
+
+        result.addListener(() -> {
+            Future<?> inFlight = current.get();
+            if (result.isCancelled() && inFlight != null) inFlight.cancel(true);
+        }, MoreExecutors.directExecutor());
+
+        attempt(operation, deadlineMs, request, 1, result, current);
+        return result;
+    }
+
+    private <T> void attempt(String operation, long deadlineMs, Supplier<ListenableFuture<T>> request,
+                             int attempt, SettableFuture<T> result, AtomicReference<Future<?>> current) {
+        if (result.isDone()) return;
+
+        if (!breaker.allowRequest()) {
+            shortCircuits.incrementAndGet();
+            result.setException(new CircuitBreaker.OpenException());
+            return;
+        }
+
+        ListenableFuture<T> future = Futures.withTimeout(hedged(request, histogram(operation)), deadlineMs, TimeUnit.MILLISECONDS, scheduler);
+        current.set(future);
+        if (result.isCancelled()) future.cancel(true);
+
+        Futures.addCallback(future, new FutureCallback<T>() {
+            @Override
+            public void onSuccess(T value) {
+                breaker.recordSuccess();
+                successes.incrementAndGet();
+                result.set(value);
+                logStats(operation);
+            }
+
+            @Override
+            public void onFailure(@NonNull Throwable t) {
+                if (t instanceof TimeoutException) timeouts.incrementAndGet();
+
+                if (!isTransient(t)) {
+                    breaker.releaseProbe();
+                    if (!result.isCancelled()) failures.incrementAndGet();
+                    result.setException(t);
+                    return;
+                }
+
+                breaker.recordFailure();
+                if (attempt >= MAX_ATTEMPTS || result.isDone()) {
+                    failures.incrementAndGet();
+                    result.setException(t);
+                    logStats(operation);
+                    return;
+                }
+
+                retries.incrementAndGet();
+                long delay = backoff(attempt);
+                Log.w(TAG, operation + " attempt " + attempt + " failed, retrying in " + delay + "ms: " + t);
+                scheduler.schedule(() -> attempt(operation, deadlineMs, request, attempt + 1, result, current),
+                        delay, TimeUnit.MILLISECONDS);
+            }
+        }, MoreExecutors.directExecutor());
+    }
+
+    private <T> ListenableFuture<T> hedged(Supplier<ListenableFuture<T>> request, LatencyHistogram histogram) {
+        SettableFuture<T> winner = SettableFuture.create();
+        List<ListenableFuture<T>> attempts = new CopyOnWriteArrayList<>();
+        AtomicInteger pending = new AtomicInteger(1);
+
+        winner.addListener(() -> {
+            for (ListenableFuture<T> attempt : attempts) attempt.cancel(true);
+        }, MoreExecutors.directExecutor());
+
+        launch(request, histogram, winner, attempts, pending, false);
+
+        if (hedgingEnabled && histogram.count() >= MIN_HEDGE_SAMPLES) {
+            long delay = Math.max(MIN_HEDGE_DELAY_MS, histogram.percentile(0.95));
+            ScheduledFuture<?> timer = scheduler.schedule(() -> {
+                if (winner.isDone()) return;
+                hedges.incrementAndGet();
+                pending.incrementAndGet();
+                launch(request, histogram, winner, attempts, pending, true);
+            }, delay, TimeUnit.MILLISECONDS);
+            winner.addListener(() -> timer.cancel(false), MoreExecutors.directExecutor());
+        }
+        return winner;
+    }
+
+    private <T> void launch(Supplier<ListenableFuture<T>> request, LatencyHistogram histogram, SettableFuture<T> winner,
+                            List<ListenableFuture<T>> attempts, AtomicInteger pending, boolean hedge) {
+        long start = System.nanoTime();
+        ListenableFuture<T> future;
+        try {
+            future = request.get();
+        } catch (RuntimeException e) {
+            future = Futures.immediateFailedFuture(e);
+        }
+
+        attempts.add(future);
+        if (winner.isDone()) future.cancel(true);
+
+        Futures.addCallback(future, new FutureCallback<T>() {
+            @Override
+            public void onSuccess(T value) {
+                histogram.record(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+                if (winner.set(value) && hedge) hedgeWins.incrementAndGet();
+            }
+
+            @Override
+            public void onFailure(@NonNull Throwable t) {
+                if (pending.decrementAndGet() == 0) winner.setException(t);
+            }
+        }, MoreExecutors.directExecutor());
+    }
+
+    public <T> Publisher<T> stream(String operation, long firstChunkDeadlineMs, long idleDeadlineMs, long totalDeadlineMs,
+                                   Supplier<Publisher<T>> request) {
+        return downstream -> new StreamCall<>(operation, firstChunkDeadlineMs, idleDeadlineMs, totalDeadlineMs, request, downstream).start();
+    }
+
+    private class StreamCall<T> implements Subscription {
+        private final String operation;
+        private final long firstChunkDeadlineMs;
+        private final long idleDeadlineMs;
+        private final long totalDeadlineMs;
+        private final Supplier<Publisher<T>> request;
+        private final Subscriber<? super T> downstream;
+        private final AtomicLong requested = new AtomicLong();
+        private final AtomicBoolean terminated = new AtomicBoolean();
+        private volatile Subscription upstream;
+        private volatile AtomicBoolean attemptFinished;
+        private volatile ScheduledFuture<?> totalDeadline;
+        private volatile boolean cancelled;
+        private int attempt;
+
+        StreamCall(String operation, long firstChunkDeadlineMs, long idleDeadlineMs, long totalDeadlineMs,
+                   Supplier<Publisher<T>> request, Subscriber<? super T> downstream) {
+            this.operation = operation;
+            this.firstChunkDeadlineMs = firstChunkDeadlineMs;
+            this.idleDeadlineMs = idleDeadlineMs;
+            this.totalDeadlineMs = totalDeadlineMs;
+            this.request = request;
+            this.downstream = downstream;
+        }
+
+        void start() {
+            calls.incrementAndGet();
+            downstream.onSubscribe(this);
+            totalDeadline = scheduler.schedule(this::expire, totalDeadlineMs, TimeUnit.MILLISECONDS);
+            subscribeNext();
+        }
+
+        private void subscribeNext() {
+            if (cancelled || terminated.get()) return;
+
+            if (!breaker.allowRequest()) {
+                shortCircuits.incrementAndGet();
+                fail(new CircuitBreaker.OpenException());
+                return;
+            }
+
+            attempt++;
+            long start = System.nanoTime();
+            AtomicBoolean finished = new AtomicBoolean();
+            AtomicBoolean received = new AtomicBoolean();
+            AtomicLong lastChunkAt = new AtomicLong();
+            attemptFinished = finished;
+
+            ScheduledFuture<?> deadline = scheduler.schedule(() -> {
+                if (received.get() || !finished.compareAndSet(false, true)) return;
+                timeouts.incrementAndGet();
+                Subscription subscription = upstream;
+                if (subscription != null) subscription.cancel();
+                onFailure(new TimeoutException("No response within " + firstChunkDeadlineMs + "ms"), false);
+            }, firstChunkDeadlineMs, TimeUnit.MILLISECONDS);
+
+            Publisher<T> publisher;
+            try {
+                publisher = request.get();
+            } catch (RuntimeException e) {
+                deadline.cancel(false);
+                if (finished.compareAndSet(false, true)) onFailure(e, false);
+                return;
+            }
+
+            publisher.subscribe(new Subscriber<T>() {
+                @Override
+                public void onSubscribe(Subscription subscription) {
+                    upstream = subscription;
+                    if (cancelled || finished.get()) {
+                        subscription.cancel();
+                        return;
+                    }
+                    long demand = requested.get();
+                    if (demand > 0) subscription.request(demand);
+                }
+
+                @Override
+                public void onNext(T item) {
+                    if (finished.get()) return;
+                    lastChunkAt.set(System.nanoTime());
+                    if (received.compareAndSet(false, true)) {
+                        deadline.cancel(false);
+                        watchIdle(finished, lastChunkAt);
+                    }
+                    downstream.onNext(item);
+                }
+
+                @Override
+                public void onError(Throwable t) {
+                    deadline.cancel(false);
+                    if (finished.compareAndSet(false, true)) onFailure(t, received.get());
+                }
+
+                @Override
+                public void onComplete() {
+                    deadline.cancel(false);
+                    if (!finished.compareAndSet(false, true)) return;
+                    histogram(operation).record(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+                    breaker.recordSuccess();
+                    successes.incrementAndGet();
+                    if (terminated.compareAndSet(false, true)) {
+                        totalDeadline.cancel(false);
+                        downstream.onComplete();
+                    }
+                    logStats(operation);
+                }
+            });
+        }
+
+        private void watchIdle(AtomicBoolean finished, AtomicLong lastChunkAt) {
+            if (finished.get()) return;
+            long idleMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - lastChunkAt.get());
+            if (idleMs < idleDeadlineMs) {
+                scheduler.schedule(() -> watchIdle(finished, lastChunkAt), idleDeadlineMs - idleMs, TimeUnit.MILLISECONDS);
+                return;
+            }
+            if (!finished.compareAndSet(false, true)) return;
+            timeouts.incrementAndGet();
+            Subscription subscription = upstream;
+            if (subscription != null) subscription.cancel();
+            onFailure(new TimeoutException("Stream stalled for " + idleMs + "ms"), true);
+        }
+
+        private void expire() {
+            AtomicBoolean finished = attemptFinished;
+            boolean stopped = finished != null && finished.compareAndSet(false, true);
+            if (stopped) {
+                Subscription subscription = upstream;
+                if (subscription != null) subscription.cancel();
+            }
+            if (cancelled) {
+                if (stopped) breaker.releaseProbe();
+                return;
+            }
+            if (!fail(new TimeoutException("Stream did not finish within " + totalDeadlineMs + "ms"))) return;
+
+            timeouts.incrementAndGet();
+            failures.incrementAndGet();
+            if (stopped) breaker.recordFailure();
+            logStats(operation);
+        }
+
+        private void onFailure(Throwable t, boolean received) {
+            if (cancelled) {
+                breaker.releaseProbe();
+                return;
+            }
+
+            if (!isTransient(t)) {
+                breaker.releaseProbe();
+                if (fail(t)) failures.incrementAndGet();
+                return;
+            }
+
+            breaker.recordFailure();
+            if (received || attempt >= MAX_ATTEMPTS) {
+                if (fail(t)) failures.incrementAndGet();
+                logStats(operation);
+                return;
+            }
+
+            retries.incrementAndGet();
+            long delay = backoff(attempt);
+            Log.w(TAG, operation + " stream attempt " + attempt + " failed, retrying in " + delay + "ms: " + t);
+            scheduler.schedule(this::subscribeNext, delay, TimeUnit.MILLISECONDS);
+        }
+
+        private boolean fail(Throwable t) {
+            if (!terminated.compareAndSet(false, true)) return false;
+            ScheduledFuture<?> timer = totalDeadline;
+            if (timer != null) timer.cancel(false);
+            downstream.onError(t);
+            return true;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) return;
+            requested.getAndUpdate(current -> current + n < 0 ? Long.MAX_VALUE : current + n);
+            Subscription subscription = upstream;
+            if (subscription != null) subscription.request(n);
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            ScheduledFuture<?> timer = totalDeadline;
+            if (timer != null) timer.cancel(false);
+            Subscription subscription = upstream;
+            if (subscription != null) subscription.cancel();
+        }
+    }
+
+    private static boolean isTransient(Throwable t) {
+        for (Throwable cause = t; cause != null; cause = cause.getCause()) {
+            if (cause instanceof TimeoutException
+                    || cause instanceof IOException
+                    || cause instanceof ServerException
+                    || cause instanceof RequestTimeoutException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static long backoff(int attempt) {
+        long ceiling = Math.min(MAX_BACKOFF_MS, BASE_BACKOFF_MS << (attempt - 1));
+        return ceiling / 2 + ThreadLocalRandom.current().nextLong(ceiling / 2 + 1);
+    }
+
+    private LatencyHistogram histogram(String operation) {
+        return histograms.computeIfAbsent(operation, k -> new LatencyHistogram());
+    }
+
+    public LatencyHistogram getHistogram(String operation) {
+        return histogram(operation);
+    }
+
+    public CircuitBreaker.State getBreakerState() {
+        return breaker.getState();
+    }
+
+    public Map<String, Long> getCounters() {
+        Map<String, Long> counters = new LinkedHashMap<>();
+        counters.put("calls", calls.get());
+        counters.put("successes", successes.get());
+        counters.put("failures", failures.get());
+        counters.put("retries", retries.get());
+        counters.put("timeouts", timeouts.get());
+        counters.put("hedges", hedges.get());
+        counters.put("hedgeWins", hedgeWins.get());
+        counters.put("shortCircuits", shortCircuits.get());
+        return counters;
+    }
+
+    private void logStats(String operation) {
+        Log.d(TAG, String.format(Locale.ROOT, "%s %s breaker=%s %s",
+                operation, histogram(operation), breaker.getState(), getCounters()));
+    }
+}
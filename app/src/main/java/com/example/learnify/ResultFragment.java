@@ -1,6 +1,10 @@
 package com.example.learnify;
 
+import android.content.Context;
 import android.os.Bundle;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
@@ -16,6 +20,8 @@ import androidx.fragment.app.Fragment;
 
 public class ResultFragment extends Fragment {
 
+    private static final long FEEDBACK_UPDATE_INTERVAL_MS = 150;
+
     private QuizResult quizResult;
 
     private TextView tvTopic, tvScorePercent, tvCorrect, tvWrong, tvTotal;
@@ -23,6 +29,12 @@ public class ResultFragment extends Fragment {
     private LinearLayout llAiLoading;
     private ProgressBar pbScore;
     private QuizGenerator quizGenerator;
+    private SharedRequest.Handle feedbackHandle;
+    private final Handler uiHandler = new Handler(Looper.getMainLooper());
+    private String pendingFeedback;
+    private boolean feedbackUpdateScheduled;
+    private long lastFeedbackUpdate;
+    private final Runnable feedbackUpdate = this::flushFeedback;
 
     @Override
     public void onCreate(@Nullable Bundle savedInstanceState) {
@@ -49,7 +61,7 @@ public class ResultFragment extends Fragment {
     public void onViewCreated(@NonNull View view, @Nullable Bundle savedInstanceState) {
         super.onViewCreated(view, savedInstanceState);
 
-        quizGenerator = new QuizGenerator();
+        quizGenerator = new QuizGenerator(requireContext());
 
         tvTopic = view.findViewById(R.id.tv_result_topic);
         tvScorePercent = view.findViewById(R.id.tv_score_percentage);
@@ -67,7 +79,11 @@ public class ResultFragment extends Fragment {
 
         if (quizResult != null) {
             populateUI();
-            generateAiAnalysis();
+            if (quizResult.getAiFeedback() != null && !quizResult.getAiFeedback().isEmpty()) {
+                showFeedback(quizResult.getAiFeedback());
+            } else {
+                generateAiAnalysis();
+            }
         }
     }
 
@@ -90,26 +106,89 @@ public class ResultFragment extends Fragment {
     }
 
     private void generateAiAnalysis() {
-        quizGenerator.generateFeedback(quizResult, new QuizGenerator.FeedbackCallback() {
+        quizGenerator.generateFeedbackStream(quizResult, new FeedbackSaver(requireContext(), quizResult));
+
+        feedbackHandle = quizGenerator.generateFeedbackStream(quizResult, new QuizGenerator.FeedbackCallback() {
+            @Override
+            public void onPartial(String feedbackSoFar) {
+                uiHandler.post(() -> scheduleFeedbackUpdate(feedbackSoFar));
+            }
+
             @Override
             public void onSuccess(String feedback) {
-                if (!isAdded()) return;
-                requireActivity().runOnUiThread(() -> {
-                    llAiLoading.setVisibility(View.GONE);
-                    tvAiFeedback.setText(feedback);
-                    tvAiFeedback.setVisibility(View.VISIBLE);
+                uiHandler.post(() -> {
+                    if (!isAdded()) return;
+                    showFeedback(feedback);
                 });
             }
 
             @Override
             public void onError(Throwable t) {
-                if (!isAdded()) return;
-                requireActivity().runOnUiThread(() -> {
-                    llAiLoading.setVisibility(View.GONE);
-                    tvAiFeedback.setText(getString(R.string.no_feedback_available));
-                    tvAiFeedback.setVisibility(View.VISIBLE);
+                uiHandler.post(() -> {
+                    if (!isAdded()) return;
+                    if (pendingFeedback != null) {
+                        uiHandler.removeCallbacks(feedbackUpdate);
+                        flushFeedback();
+                    } else {
+                        showFeedback(getString(R.string.no_feedback_available));
+                    }
                 });
             }
         });
     }
-}
\ No newline at end of file
+
+    private void scheduleFeedbackUpdate(String feedbackSoFar) {
+        pendingFeedback = feedbackSoFar;
+        if (feedbackUpdateScheduled) return;
+
+        feedbackUpdateScheduled = true;
+        long wait = lastFeedbackUpdate + FEEDBACK_UPDATE_INTERVAL_MS - SystemClock.uptimeMillis();
+        uiHandler.postDelayed(feedbackUpdate, Math.max(0, wait));
+    }
+
+    private void flushFeedback() {
+        feedbackUpdateScheduled = false;
+        lastFeedbackUpdate = SystemClock.uptimeMillis();
+        if (!isAdded() || pendingFeedback == null) return;
+        llAiLoading.setVisibility(View.GONE);
+        tvAiFeedback.setText(pendingFeedback);
+        tvAiFeedback.setVisibility(View.VISIBLE);
+    }
+
+    private void showFeedback(String feedback) {
+        uiHandler.removeCallbacks(feedbackUpdate);
+        feedbackUpdateScheduled = false;
+        llAiLoading.setVisibility(View.GONE);
+        tvAiFeedback.setText(feedback);
+        tvAiFeedback.setVisibility(View.VISIBLE);
+    }
+
+    @Override
+    public void onDestroyView() {
+        super.onDestroyView();
+        uiHandler.removeCallbacks(feedbackUpdate);
+        if (feedbackHandle != null) feedbackHandle.detach();
+    }
+
+    private static class FeedbackSaver implements QuizGenerator.FeedbackCallback {
+        private final Context context;
+        private final QuizResult result;
+
+        FeedbackSaver(Context context, QuizResult result) {
+            this.context = context.getApplicationContext();
+            this.result = result;
+        }
+
+        @Override
+        public void onSuccess(String feedback) {
+            result.setAiFeedback(feedback);
+            String historyId = result.getQuizRecord().getQuizId();
+            QuizDatabase.getInstance(context).updateQuizResult(historyId, result);
+            FirestoreManager.getInstance().updateQuizResult(historyId, result);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.example.learnify;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.media.ExifInterface;
+import android.net.Uri;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+
+public class ScaledBitmapDecoder {
+
+    private static final int DEFAULT_MAX_DIMENSION = 2048;
+    private static final int POOL_SIZE = 2;
+    private static final int BYTES_PER_PIXEL = 4;
+
+    private final Context context;
+    private final ArrayDeque<Bitmap> pool = new ArrayDeque<>();
+    private volatile int maxDimension = DEFAULT_MAX_DIMENSION;
+
+    public ScaledBitmapDecoder(Context context) {
+        this.context = context.getApplicationContext();
+    }
+
+    public void setMaxDimension(int maxDimension) {
+        this.maxDimension = Math.max(1, maxDimension);
+    }
+
+    public Decoded decode(Uri uri) throws IOException {
+        return decode(uri, maxDimension, true);
+    }
+
+    public Bitmap decodeThumbnail(Uri uri, int maxDimension) throws IOException {
+        return decode(uri, maxDimension, false).getBitmap();
+    }
+
+    private Decoded decode(Uri uri, int maxDimension, boolean pooled) throws IOException {
+        BitmapFactory.Options bounds = new BitmapFactory.Options();
+        bounds.inJustDecodeBounds = true;
+        try (InputStream in = open(uri)) {
+            BitmapFactory.decodeStream(in, null, bounds);
+        }
+        if (bounds.outWidth <= 0 || bounds.outHeight <= 0) {
+            throw new IOException("Could not decode image.");
+        }
+
+        int sampleSize = sampleSizeFor(bounds.outWidth, bounds.outHeight, maxDimension);
+        int width = (bounds.outWidth + sampleSize - 1) / sampleSize;
+        int height = (bounds.outHeight + sampleSize - 1) / sampleSize;
+
+        BitmapFactory.Options options = new BitmapFactory.Options();
+        options.inSampleSize = sampleSize;
+        options.inMutable = pooled;
+        options.inPreferredConfig = Bitmap.Config.ARGB_8888;
+        if (pooled) options.inBitmap = take((long) width * height * BYTES_PER_PIXEL);
+
+        Bitmap bitmap;
+        try (InputStream in = open(uri)) {
+            bitmap = BitmapFactory.decodeStream(in, null, options);
+        } catch (IllegalArgumentException e) {
+            release(options.inBitmap);
+            options.inBitmap = null;
+            try (InputStream in = open(uri)) {
+                bitmap = BitmapFactory.decodeStream(in, null, options);
+            }
+        }
+        if (bitmap == null) throw new IOException("Could not decode image.");
+
+        return new Decoded(bitmap, pooled ? readRotation(uri) : 0);
+    }
+
+    public void release(Bitmap bitmap) {
+        if (bitmap == null || bitmap.isRecycled()) return;
+        synchronized (pool) {
+            if (bitmap.isMutable() && pool.size() < POOL_SIZE) {
+                pool.push(bitmap);
+                return;
+            }
+        }
+        bitmap.recycle();
+    }
+
+    public void clear() {
+        synchronized (pool) {
+            for (Bitmap bitmap : pool) bitmap.recycle();
+            pool.clear();
+        }
+    }
+
+    static int sampleSizeFor(int width, int height, int maxDimension) {
+        int longest = Math.max(width, height);
+        int sampleSize = 1;
+        while ((longest + sampleSize - 1) / sampleSize > maxDimension) {
+            sampleSize *= 2;
+        }
+        return sampleSize;
+    }
+
+    private Bitmap take(long bytesNeeded) {
+        synchronized (pool) {
+            Iterator<Bitmap> it = pool.iterator();
+            while (it.hasNext()) {
+                Bitmap candidate = it.next();
+                if (candidate.getAllocationByteCount() >= bytesNeeded) {
+                    it.remove();
+                    return candidate;
+                }
+            }
+        }
+        return null;
+    }
+
+    private int readRotation(Uri uri) {
+        try (InputStream in = open(uri)) {
+            int orientation = new ExifInterface(in).getAttributeInt(ExifInterface.TAG_ORIENTATION, ExifInterface.ORIENTATION_NORMAL);
+            switch (orientation) {
+                case ExifInterface.ORIENTATION_ROTATE_90:
+                case ExifInterface.ORIENTATION_TRANSPOSE:
+                    return 90;
+                case ExifInterface.ORIENTATION_ROTATE_180:
+                case ExifInterface.ORIENTATION_FLIP_VERTICAL:
+                    return 180;
+                case ExifInterface.ORIENTATION_ROTATE_270:
+                case ExifInterface.ORIENTATION_TRANSVERSE:
+                    return 270;
+                default:
+                    return 0;
+            }
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private InputStream open(Uri uri) throws IOException {
+        InputStream in = context.getContentResolver().openInputStream(uri);
+        if (in == null) throw new IOException("Could not open file.");
+        return in;
+    }
+
+    public static class Decoded {
+        private final Bitmap bitmap;
+        private final int rotationDegrees;
+
+        Decoded(Bitmap bitmap, int rotationDegrees) {
+            this.bitmap = bitmap;
+            this.rotationDegrees = rotationDegrees;
+        }
+
+        public Bitmap getBitmap() { return bitmap; }
+        public int getRotationDegrees() { return rotationDegrees; }
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.learnify;
+
+import androidx.annotation.NonNull;
+
+import com.google.common.util.concurrent.FutureCallback;
+
+public class SharedFeedbackRequest extends SharedRequest<String, QuizGenerator.FeedbackCallback> implements QuizGenerator.FeedbackCallback {
+
+    private String partial;
+
+    public synchronized Handle attach(QuizGenerator.FeedbackCallback callback) {
+        if (partial != null) callback.onPartial(partial);
+        return attach(callback, new FutureCallback<String>() {
+            @Override
+            public void onSuccess(String feedback) {
+                callback.onSuccess(feedback);
+            }
+
+            @Override
+            public void onFailure(@NonNull Throwable t) {
+                callback.onError(t);
+            }
+        });
+    }
+
+    @Override
+    public synchronized void onPartial(String feedbackSoFar) {
+        partial = feedbackSoFar;
+        for (QuizGenerator.FeedbackCallback callback : listeners()) {
+            callback.onPartial(feedbackSoFar);
+        }
+    }
+
+    @Override
+    public void onSuccess(String feedback) {
+        complete(feedback);
+    }
+
+    @Override
+    public void onError(Throwable t) {
+        fail(t);
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.learnify;
+
+import androidx.annotation.NonNull;
+
+import com.google.common.util.concurrent.FutureCallback;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class SharedQuizRequest extends SharedRequest<QuizResponse, QuizGenerator.QuizCallback> implements QuizGenerator.QuizCallback {
+
+    private final List<QuizQuestion> questions = new ArrayList<>();
+
+    public synchronized Handle attach(QuizGenerator.QuizCallback callback) {
+        for (int i = 0; i < questions.size(); i++) {
+            callback.onQuestion(questions.get(i), i);
+        }
+        return attach(callback, new FutureCallback<QuizResponse>() {
+            @Override
+            public void onSuccess(QuizResponse response) {
+                callback.onSuccess(response);
+            }
+
+            @Override
+            public void onFailure(@NonNull Throwable t) {
+                callback.onError(t);
+            }
+        });
+    }
+
+    @Override
+    public synchronized void onQuestion(QuizQuestion question, int index) {
+        questions.add(question);
+        for (QuizGenerator.QuizCallback callback : listeners()) {
+            callback.onQuestion(question, index);
+        }
+    }
+
+    @Override
+    public boolean isCancelled() {
+        return super.isCancelled();
+    }
+
+    @Override
+    public void onSuccess(QuizResponse response) {
+        complete(response);
+    }
+
+    @Override
+    public void onError(Throwable t) {
+        fail(t);
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.learnify;
+
+import androidx.annotation.NonNull;
+
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.SettableFuture;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+public class SharedRequest<T, L> {
+
+    private final SettableFuture<T> future = SettableFuture.create();
+    private final List<L> listeners = new CopyOnWriteArrayList<>();
+
+    public ListenableFuture<T> getFuture() {
+        return future;
+    }
+
+    public boolean isDone() {
+        return future.isDone();
+    }
+
+    public boolean hasListeners() {
+        return !listeners.isEmpty();
+    }
+
+    protected List<L> listeners() {
+        return listeners;
+    }
+
+    public Handle attach(L listener, FutureCallback<T> delivery) {
+        listeners.add(listener);
+        Futures.addCallback(future, new FutureCallback<T>() {
+            @Override
+            public void onSuccess(T result) {
+                if (listeners.remove(listener)) delivery.onSuccess(result);
+            }
+
+            @Override
+            public void onFailure(@NonNull Throwable t) {
+                if (listeners.remove(listener)) delivery.onFailure(t);
+            }
+        }, MoreExecutors.directExecutor());
+        return new Handle(this, listener);
+    }
+
+    public boolean isCancelled() {
+        return future.isCancelled();
+    }
+
+    public void complete(T result) {
+        future.set(result);
+    }
+
+    public void fail(Throwable t) {
+        future.setException(t);
+    }
+
+    public static final class Handle {
+        private final SharedRequest<?, ?> request;
+        private final Object listener;
+
+        private Handle(SharedRequest<?, ?> request, Object listener) {
+            this.request = request;
+            this.listener = listener;
+        }
+
+        public void detach() {
+            request.listeners.remove(listener);
+        }
+
+        public void cancelIfUnused() {
+            detach();
+            if (!request.hasListeners()) request.future.cancel(false);
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.learnify;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class StreamingQuizParser {
+
+    private final Listener listener;
+
+    private final StringBuilder token = new StringBuilder();
+    private final StringBuilder questionBuffer = new StringBuilder();
+    private final List<QuizQuestion> questions = new ArrayList<>();
+
+    private int depth = 0;
+    private int questionsArrayDepth = -1;
+    private boolean inString = false;
+    private boolean escaped = false;
+    private boolean expectingValue = false;
+    private boolean rootClosed = false;
+    private String lastKey;
+    private String topic;
+
+    public StreamingQuizParser(Listener listener) {
+        this.listener = listener;
+    }
+
+    public synchronized void feed(String chunk) {
+        if (chunk == null || rootClosed) return;
+
+        for (int i = 0; i < chunk.length() && !rootClosed; i++) {
+            consume(chunk.charAt(i));
+        }
+    }
+
+    private void consume(char c) {
+        boolean inQuestion = questionsArrayDepth >= 0 && depth > questionsArrayDepth;
+        if (inQuestion) questionBuffer.append(c);
+
+        if (inString) {
+            if (escaped) {
+                escaped = false;
+            } else if (c == '\\') {
+                escaped = true;
+            } else if (c == '"') {
+                inString = false;
+                if (depth == 1) onRootString();
+                return;
+            }
+            if (depth == 1) token.append(c);
+            return;
+        }
+
+        switch (c) {
+            case '"':
+                inString = true;
+                token.setLength(0);
+                break;
+            case ':':
+                if (depth == 1) expectingValue = true;
+                break;
+            case ',':
+                if (depth == 1) expectingValue = false;
+                break;
+            case '{':
+            case '[':
+                if (depth == 0 && c == '[') return;
+                if (depth == 1) {
+                    expectingValue = false;
+                    if (c == '[' && "questions".equals(lastKey)) questionsArrayDepth = 2;
+                }
+                if (depth == questionsArrayDepth && c == '{') {
+                    questionBuffer.setLength(0);
+                    questionBuffer.append(c);
+                }
+                depth++;
+                break;
+            case '}':
+            case ']':
+                if (depth == 0) return;
+                depth--;
+                if (depth == questionsArrayDepth && c == '}') {
+                    emitQuestion(questionBuffer.toString());
+                    questionBuffer.setLength(0);
+                } else if (depth == questionsArrayDepth - 1 && c == ']') {
+                    questionsArrayDepth = -1;
+                } else if (depth == 0) {
+                    rootClosed = true;
+                }
+                break;
+            default:
+                if (depth == 1 && !Character.isWhitespace(c)) expectingValue = false;
+                break;
+        }
+    }
+
+    private void onRootString() {
+        String value = token.toString();
+        if (expectingValue) {
+            expectingValue = false;
+            if ("topic".equals(lastKey)) {
+                topic = QuizJsonDecoder.decodeString(value);
+            }
+        } else {
+            lastKey = value;
+        }
+    }
+
+    private void emitQuestion(String json) {
+        QuizQuestion question = QuizJsonDecoder.decodeQuestion(json);
+        if (question != null) {
+            questions.add(question);
+            listener.onQuestion(question, questions.size() - 1);
+        }
+    }
+
+    public synchronized String getTopic() {
+        return topic;
+    }
+
+    public synchronized List<QuizQuestion> getQuestions() {
+        return new ArrayList<>(questions);
+    }
+
+    public interface Listener {
+        void onQuestion(QuizQuestion question, int index);
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.learnify;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+public class TextChunker {
+
+    private static final Pattern HEADING = Pattern.compile(
+            "^(\\d+(\\.\\d+)*\\.?\\s+\\S.*|(?i:chapter|section|unit|lecture|part)\\b.*|[A-Z0-9][A-Z0-9 ,:&\\-]{2,})$");
+    private static final int MAX_HEADING_LENGTH = 80;
+
+    private TextChunker() {}
+
+    public static List<String> split(String text, int chunkCount) {
+        List<String> chunks = new ArrayList<>();
+        if (text == null || text.trim().isEmpty()) return chunks;
+
+        if (chunkCount <= 1) {
+            chunks.add(text.trim());
+            return chunks;
+        }
+
+        int targetSize = text.length() / chunkCount + 1;
+        List<String> sections = splitSections(text);
+
+        StringBuilder current = new StringBuilder();
+        for (String section : sections) {
+            if (section.length() > targetSize) {
+                for (String piece : splitSentences(section, targetSize)) {
+                    current = appendOrFlush(chunks, current, piece, targetSize);
+                }
+            } else {
+                current = appendOrFlush(chunks, current, section, targetSize);
+            }
+        }
+        if (current.length() > 0) chunks.add(current.toString().trim());
+
+        while (chunks.size() > chunkCount) {
+            mergeSmallestNeighbours(chunks);
+        }
+        return chunks;
+    }
+
+    private static StringBuilder appendOrFlush(List<String> chunks, StringBuilder current, String piece, int targetSize) {
+        if (current.length() > 0 && current.length() + piece.length() > targetSize) {
+            chunks.add(current.toString().trim());
+            current = new StringBuilder();
+        }
+        current.append(piece).append("\n\n");
+        return current;
+    }
+
+    private static List<String> splitSections(String text) {
+        List<String> sections = new ArrayList<>();
+        StringBuilder section = new StringBuilder();
+
+        for (String line : text.split("\n")) {
+            String trimmed = line.trim();
+            boolean isBreak = trimmed.isEmpty() || isHeading(trimmed);
+
+            if (isBreak && section.length() > 0) {
+                sections.add(section.toString().trim());
+                section.setLength(0);
+            }
+            if (!trimmed.isEmpty()) section.append(trimmed).append('\n');
+        }
+        if (section.length() > 0) sections.add(section.toString().trim());
+        return sections;
+    }
+
+    private static boolean isHeading(String line) {
+        if (line.length() > MAX_HEADING_LENGTH) return false;
+        char last = line.charAt(line.length() - 1);
+        if (last == '.' || last == ',' || last == ';') return false;
+        return HEADING.matcher(line).matches();
+    }
+
+    private static List<String> splitSentences(String section, int targetSize) {
+        List<String> pieces = new ArrayList<>();
+        int start = 0;
+        while (start < section.length()) {
+            int end = Math.min(section.length(), start + targetSize);
+            if (end < section.length()) {
+                int boundary = lastSentenceBoundary(section, start + targetSize / 2, end);
+                if (boundary > start) end = boundary;
+            }
+            pieces.add(section.substring(start, end).trim());
+            start = end;
+        }
+        return pieces;
+    }
+
+    private static int lastSentenceBoundary(String text, int from, int to) {
+        for (int i = to - 1; i >= from; i--) {
+            char c = text.charAt(i);
+            if ((c == '.' || c == '?' || c == '!' || c == '\n') && i + 1 < text.length() && Character.isWhitespace(text.charAt(i + 1))) {
+                return i + 1;
+            }
+        }
+        for (int i = to - 1; i >= from; i--) {
+            if (Character.isWhitespace(text.charAt(i))) return i + 1;
+        }
+        return -1;
+    }
+
+    private static void mergeSmallestNeighbours(List<String> chunks) {
+        int best = 0;
+        int bestSize = Integer.MAX_VALUE;
+        for (int i = 0; i < chunks.size() - 1; i++) {
+            int size = chunks.get(i).length() + chunks.get(i + 1).length();
+            if (size < bestSize) {
+                bestSize = size;
+                best = i;
+            }
+        }
+        chunks.set(best, chunks.get(best) + "\n\n" + chunks.get(best + 1));
+        chunks.remove(best + 1);
+    }
+}
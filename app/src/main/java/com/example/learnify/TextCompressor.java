@@ -0,0 +1,174 @@
+package com.example.learnify;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+public class TextCompressor {
+
+    private static final int CHARS_PER_TOKEN = 4;
+    private static final int SEGMENTS = 10;
+    private static final int MIN_SENTENCE_CHARS = 20;
+    private static final int MAX_SENTENCE_CHARS = 300;
+
+    private static final Set<String> STOP_WORDS = new HashSet<>(Arrays.asList(
+            "the", "and", "for", "are", "but", "not", "you", "all", "any", "can", "had", "her", "was", "one",
+            "our", "out", "has", "have", "him", "his", "how", "its", "may", "who", "did", "get", "she", "use",
+            "that", "this", "with", "from", "they", "will", "would", "there", "their", "what", "about", "which",
+            "when", "were", "been", "than", "them", "then", "these", "those", "into", "also", "some", "such",
+            "only", "other", "more", "most", "very", "just", "over", "each", "where", "while", "because"));
+
+    private TextCompressor() {}
+
+    public static Result compress(String text, int tokenBudget) {
+        if (text == null) return new Result("", 0);
+
+        int charBudget = tokenBudget * CHARS_PER_TOKEN;
+        if (text.length() <= charBudget) return new Result(text, text.length());
+
+        List<int[]> sentences = splitSentences(text);
+        if (sentences.size() < 2) {
+            return new Result(text.substring(0, Math.min(text.length(), charBudget)), text.length());
+        }
+
+        double[] scores = scoreSentences(text, sentences);
+        boolean[] selected = new boolean[sentences.size()];
+        int used = 0;
+
+        int perSegment = (sentences.size() + SEGMENTS - 1) / SEGMENTS;
+        for (int start = 0; start < sentences.size(); start += perSegment) {
+            int end = Math.min(sentences.size(), start + perSegment);
+            int segmentChars = sentences.get(end - 1)[1] - sentences.get(start)[0];
+            int segmentBudget = (int) ((long) charBudget * segmentChars / text.length());
+            used += select(sentences, scores, selected, start, end, segmentBudget);
+        }
+        select(sentences, scores, selected, 0, sentences.size(), charBudget - used);
+
+        StringBuilder out = new StringBuilder(charBudget);
+        int previous = -2;
+        for (int i = 0; i < sentences.size(); i++) {
+            if (!selected[i]) continue;
+            if (out.length() > 0) out.append(i == previous + 1 ? ' ' : '\n');
+            int[] span = sentences.get(i);
+            out.append(text, span[0], span[1]);
+            previous = i;
+        }
+        return new Result(out.toString(), text.length());
+    }
+
+    private static int select(List<int[]> sentences, double[] scores, boolean[] selected, int start, int end, int budget) {
+        Integer[] order = new Integer[end - start];
+        for (int i = 0; i < order.length; i++) order[i] = start + i;
+        Arrays.sort(order, (a, b) -> Double.compare(scores[b], scores[a]));
+
+        int used = 0;
+        for (int index : order) {
+            if (selected[index]) continue;
+            int length = sentences.get(index)[1] - sentences.get(index)[0] + 1;
+            if (used + length > budget) continue;
+            selected[index] = true;
+            used += length;
+        }
+        return used;
+    }
+
+    private static double[] scoreSentences(String text, List<int[]> sentences) {
+        List<Map<String, Integer>> termCounts = new ArrayList<>(sentences.size());
+        Map<String, Integer> documentFrequency = new HashMap<>();
+
+        for (int[] span : sentences) {
+            Map<String, Integer> counts = new HashMap<>();
+            for (String word : words(text.substring(span[0], span[1]))) {
+                Integer count = counts.get(word);
+                counts.put(word, count == null ? 1 : count + 1);
+            }
+            for (String word : counts.keySet()) {
+                Integer df = documentFrequency.get(word);
+                documentFrequency.put(word, df == null ? 1 : df + 1);
+            }
+            termCounts.add(counts);
+        }
+
+        double total = sentences.size();
+        double[] scores = new double[sentences.size()];
+        for (int i = 0; i < sentences.size(); i++) {
+            Map<String, Integer> counts = termCounts.get(i);
+            int length = sentences.get(i)[1] - sentences.get(i)[0];
+            if (counts.isEmpty() || length < MIN_SENTENCE_CHARS) continue;
+
+            double score = 0;
+            int wordCount = 0;
+            for (Map.Entry<String, Integer> entry : counts.entrySet()) {
+                double idf = Math.log(total / documentFrequency.get(entry.getKey()));
+                score += (1 + Math.log(entry.getValue())) * idf;
+                wordCount += entry.getValue();
+            }
+            scores[i] = score / Math.sqrt(wordCount);
+        }
+        return scores;
+    }
+
+    private static List<String> words(String sentence) {
+        List<String> words = new ArrayList<>();
+        for (String word : sentence.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (word.length() > 2 && !STOP_WORDS.contains(word)) words.add(word);
+        }
+        return words;
+    }
+
+    private static List<int[]> splitSentences(String text) {
+        List<int[]> sentences = new ArrayList<>();
+        int start = 0;
+        int length = text.length();
+
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            boolean boundary = (c == '\n' && i + 1 < length && text.charAt(i + 1) == '\n')
+                    || ((c == '.' || c == '?' || c == '!') && (i + 1 == length || Character.isWhitespace(text.charAt(i + 1))));
+            if (!boundary) continue;
+
+            addSpan(text, sentences, start, i + 1);
+            start = i + 1;
+        }
+        addSpan(text, sentences, start, length);
+        return sentences;
+    }
+
+    private static void addSpan(String text, List<int[]> sentences, int start, int end) {
+        while (start < end && Character.isWhitespace(text.charAt(start))) start++;
+        while (end > start && Character.isWhitespace(text.charAt(end - 1))) end--;
+
+        while (end - start > MAX_SENTENCE_CHARS) {
+            int cut = start + MAX_SENTENCE_CHARS;
+            while (cut > start + MIN_SENTENCE_CHARS && !Character.isWhitespace(text.charAt(cut))) cut--;
+            sentences.add(new int[]{start, cut});
+            start = cut;
+            while (start < end && Character.isWhitespace(text.charAt(start))) start++;
+        }
+        if (end > start) sentences.add(new int[]{start, end});
+    }
+
+    public static class Result {
+        private final String text;
+        private final int originalChars;
+
+        Result(String text, int originalChars) {
+            this.text = text;
+            this.originalChars = originalChars;
+        }
+
+        public String getText() { return text; }
+        public int getOriginalChars() { return originalChars; }
+        public int getCompressedChars() { return text.length(); }
+
+        public double getReductionRatio() {
+            if (originalChars == 0) return 0.0;
+            return 1.0 - (double) text.length() / originalChars;
+        }
+    }
+}
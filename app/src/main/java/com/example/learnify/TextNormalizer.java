@@ -0,0 +1,453 @@
+package com.example.learnify;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+public class TextNormalizer {
+
+    public static final int DROP = -1;
+    public static final char PAGE_BREAK = '\f';
+
+    private static final int MIN_REPEATS = 3;
+    private static final int MAX_REPEATED_LINE_CHARS = 80;
+    private static final int MAX_ANNOTATION_CHARS = 40;
+
+    private final List<Stage> stages;
+    private final Joiner joiner;
+
+    public TextNormalizer(List<Stage> stages, Joiner joiner) {
+        this.stages = new ArrayList<>(stages);
+        this.joiner = joiner;
+    }
+
+    public static TextNormalizer forDocuments() {
+        return new TextNormalizer(Arrays.asList(
+                new RepeatedLines(MIN_REPEATS),
+                new CollapseWhitespace()
+        ), new Dehyphenate());
+    }
+
+    public static TextNormalizer forCaptions() {
+        return new TextNormalizer(Arrays.asList(
+                new CaptionCleanup(),
+                new CollapseWhitespace()
+        ), null);
+    }
+
+    public Result normalize(String text) {
+        if (text == null || text.isEmpty()) return new Result("", 0);
+
+        int length = text.length();
+        char[] buf = new char[length + 1];
+        text.getChars(0, length, buf, 0);
+        for (Stage stage : stages) stage.prescan(buf, length);
+
+        int read = 0;
+        int write = 0;
+        int prevStart = -1;
+        int prevEnd = -1;
+        boolean blankPending = false;
+
+        while (read < length) {
+            int lineEnd = read;
+            while (lineEnd < length && buf[lineEnd] != '\n') lineEnd++;
+            int rawEnd = lineEnd > read && buf[lineEnd - 1] == '\r' ? lineEnd - 1 : lineEnd;
+            int lineLength = rawEnd - read;
+
+            System.arraycopy(buf, read, buf, write, lineLength);
+            read = lineEnd + 1;
+
+            int start = write;
+            int end = write + lineLength;
+            for (Stage stage : stages) {
+                end = stage.apply(buf, start, end);
+                if (end == DROP) break;
+            }
+            if (end == DROP) continue;
+
+            if (end == start) {
+                if (prevStart >= 0) blankPending = true;
+                prevStart = -1;
+                continue;
+            }
+
+            if (prevStart >= 0 && joiner != null) {
+                int cut = joiner.join(buf, prevStart, prevEnd, start, end);
+                if (cut >= 0) {
+                    int joinAt = prevEnd - cut;
+                    System.arraycopy(buf, start, buf, joinAt, end - start);
+                    prevEnd = joinAt + (end - start);
+                    write = prevEnd + 1;
+                    buf[prevEnd] = '\n';
+                    continue;
+                }
+            }
+
+            if (blankPending && write > 0) {
+                System.arraycopy(buf, start, buf, start + 1, end - start);
+                buf[write++] = '\n';
+                start++;
+                end++;
+            }
+            blankPending = false;
+
+            prevStart = start;
+            prevEnd = end;
+            buf[end] = '\n';
+            write = end + 1;
+        }
+
+        if (write > 0 && buf[write - 1] == '\n') write--;
+        return new Result(new String(buf, 0, write), length);
+    }
+
+    public interface Stage {
+        default void prescan(char[] text, int length) {}
+
+        int apply(char[] buf, int start, int end);
+    }
+
+    public interface Joiner {
+        int join(char[] buf, int prevStart, int prevEnd, int start, int end);
+    }
+
+    public static class Dehyphenate implements Joiner {
+        @Override
+        public int join(char[] buf, int prevStart, int prevEnd, int start, int end) {
+            if (prevEnd - prevStart < 2 || buf[prevEnd - 1] != '-') return -1;
+            if (!Character.isLetter(buf[prevEnd - 2]) || !Character.isLowerCase(buf[start])) return -1;
+            return 1;
+        }
+    }
+
+    public static class CollapseWhitespace implements Stage {
+        @Override
+        public int apply(char[] buf, int start, int end) {
+            int write = start;
+            boolean space = false;
+            for (int i = start; i < end; i++) {
+                char c = buf[i];
+                if (c == ' ' || c == '\t' || c == '\u00A0' || c == '\f' || c == '\r') {
+                    space = write > start;
+                } else {
+                    if (space) buf[write++] = ' ';
+                    space = false;
+                    buf[write++] = c;
+                }
+            }
+            return write;
+        }
+    }
+
+    public static class RepeatedLines implements Stage {
+        private static final byte BLANK = 0;
+        private static final byte TEXT = 1;
+        private static final byte NUMBER = 2;
+        private static final byte BREAK = 3;
+        private static final byte RUNNING = 4;
+        private static final int EDGE_LINES = 2;
+
+        private final int minRepeats;
+        private BitSet dropped;
+        private int line;
+
+        public RepeatedLines(int minRepeats) {
+            this.minRepeats = minRepeats;
+        }
+
+        @Override
+        public void prescan(char[] text, int length) {
+            int lines = 1;
+            for (int i = 0; i < length; i++) {
+                if (text[i] == '\n') lines++;
+            }
+            int[] starts = new int[lines + 1];
+            for (int i = 0, n = 1; i < length; i++) {
+                if (text[i] == '\n') starts[n++] = i + 1;
+            }
+            starts[lines] = length + 1;
+
+            byte[] kinds = new byte[lines];
+            for (int i = 0; i < lines; i++) kinds[i] = kind(text, starts[i], starts[i + 1] - 1);
+            BitSet edges = edges(kinds);
+
+            int capacity = Integer.highestOneBit(Math.max(16, lines * 4 - 1)) << 1;
+            long[] keys = new long[capacity];
+            int[] counts = new int[capacity];
+            long[] lineKeys = new long[lines];
+            long[] edgeKeys = new long[lines];
+            for (int i = 0; i < lines; i++) {
+                if (kinds[i] != TEXT) continue;
+                lineKeys[i] = key(text, starts[i], starts[i + 1] - 1, false);
+                if (lineKeys[i] != 0) counts[slot(keys, lineKeys[i])]++;
+                if (!edges.get(i)) continue;
+                edgeKeys[i] = key(text, starts[i], starts[i + 1] - 1, true);
+                if (edgeKeys[i] != 0) counts[slot(keys, edgeKeys[i])]++;
+            }
+
+            dropped = new BitSet();
+            for (int i = 0; i < lines; i++) {
+                if (isRepeated(keys, counts, lineKeys[i]) || isRepeated(keys, counts, edgeKeys[i])) {
+                    kinds[i] = RUNNING;
+                    dropped.set(i);
+                }
+            }
+            for (int i = 0; i < lines; i++) {
+                if (kinds[i] == NUMBER && isPageNumber(kinds, i)) dropped.set(i);
+            }
+            line = 0;
+        }
+
+        @Override
+        public int apply(char[] buf, int start, int end) {
+            if (dropped == null) return end;
+            return dropped.get(line++) ? DROP : end;
+        }
+
+        private boolean isRepeated(long[] keys, int[] counts, long key) {
+            return key != 0 && counts[slot(keys, key)] >= minRepeats;
+        }
+
+        private static byte kind(char[] text, int start, int end) {
+            int first = skipSpaces(text, start, end);
+            if (first == end) {
+                for (int i = start; i < end; i++) {
+                    if (text[i] == PAGE_BREAK) return BREAK;
+                }
+                return BLANK;
+            }
+            return isRomanNumeral(text, start, end) || isArabicPageNumber(text, first, end) ? NUMBER : TEXT;
+        }
+
+        private static BitSet edges(byte[] kinds) {
+            BitSet edges = new BitSet();
+            int pageStart = 0;
+            for (int i = 0; i <= kinds.length; i++) {
+                if (i < kinds.length && kinds[i] != BREAK) continue;
+                for (int j = pageStart, n = 0; j < i && n < EDGE_LINES; j++) {
+                    if (kinds[j] == TEXT) {
+                        edges.set(j);
+                        n++;
+                    }
+                }
+                for (int j = i - 1, n = 0; j >= pageStart && n < EDGE_LINES; j--) {
+                    if (kinds[j] == TEXT) {
+                        edges.set(j);
+                        n++;
+                    }
+                }
+                pageStart = i + 1;
+            }
+            return edges;
+        }
+
+        private static boolean isPageNumber(byte[] kinds, int i) {
+            int prev = i - 1;
+            while (prev >= 0 && kinds[prev] == BLANK) prev--;
+            int next = i + 1;
+            while (next < kinds.length && kinds[next] == BLANK) next++;
+            boolean top = prev < 0 || kinds[prev] == BREAK;
+            boolean bottom = next == kinds.length || kinds[next] == BREAK;
+
+            if ((!top && kinds[prev] == RUNNING) || (!bottom && kinds[next] == RUNNING)) return true;
+            if (top && bottom) return true;
+            if (top) return kinds[next] != NUMBER;
+            if (bottom) return kinds[prev] != NUMBER;
+            return false;
+        }
+
+        private static int slot(long[] keys, long key) {
+            int mask = keys.length - 1;
+            int i = (int) (key ^ (key >>> 29)) & mask;
+            while (keys[i] != 0 && keys[i] != key) i = (i + 1) & mask;
+            keys[i] = key;
+            return i;
+        }
+
+        private static long key(char[] text, int start, int end, boolean ignoreNumbering) {
+            while (start < end && (Character.isWhitespace(text[start]) || (ignoreNumbering && isDigit(text[start])))) start++;
+            while (end > start && (Character.isWhitespace(text[end - 1]) || (ignoreNumbering && isDigit(text[end - 1])))) end--;
+
+            long hash = 0xcbf29ce484222325L;
+            if (ignoreNumbering) {
+                hash ^= '\n';
+                hash *= 0x100000001b3L;
+            }
+            int chars = 0;
+            for (int i = start; i < end; i++) {
+                char c = text[i];
+                if (Character.isWhitespace(c)) continue;
+                if (++chars > MAX_REPEATED_LINE_CHARS) return 0;
+                hash ^= Character.toLowerCase(c);
+                hash *= 0x100000001b3L;
+            }
+            return chars < 3 ? 0 : (hash == 0 ? 1 : hash);
+        }
+
+        private static boolean isDigit(char c) {
+            return c >= '0' && c <= '9';
+        }
+
+        static boolean isArabicPageNumber(char[] buf, int start, int end) {
+            int i = skipWord(buf, start, end, "page");
+            i = skipSpaces(buf, i, end);
+            int digits = countDigits(buf, i, end);
+            if (digits == 0 || digits > 4) return false;
+            i = skipSpaces(buf, i + digits, end);
+
+            if (i < end) {
+                int next = skipWord(buf, i, end, "of");
+                if (next == i && buf[i] == '/') next = i + 1;
+                if (next == i) return false;
+                i = skipSpaces(buf, next, end);
+                digits = countDigits(buf, i, end);
+                if (digits == 0) return false;
+                i = skipSpaces(buf, i + digits, end);
+            }
+            return i == end;
+        }
+
+        private static int countDigits(char[] buf, int start, int end) {
+            int i = start;
+            while (i < end && isDigit(buf[i])) i++;
+            return i - start;
+        }
+
+        private static int skipWord(char[] buf, int start, int end, String word) {
+            if (end - start < word.length()) return start;
+            for (int i = 0; i < word.length(); i++) {
+                if (Character.toLowerCase(buf[start + i]) != word.charAt(i)) return start;
+            }
+            int i = start + word.length();
+            if (i < end && buf[i] == '.') i++;
+            return i;
+        }
+
+        static boolean isRomanNumeral(char[] buf, int start, int end) {
+            int first = skipSpaces(buf, start, end);
+            int i = romanDigit(buf, first, end, 'c', '\0', '\0');
+            i = romanDigit(buf, i, end, 'x', 'l', 'c');
+            i = romanDigit(buf, i, end, 'i', 'v', 'x');
+            return i > first && skipSpaces(buf, i, end) == end;
+        }
+
+        private static int romanDigit(char[] buf, int i, int end, char one, char five, char ten) {
+            if (five != 0 && i < end && buf[i] == five) {
+                i++;
+            } else if (five != 0 && i + 1 < end && buf[i] == one && (buf[i + 1] == five || buf[i + 1] == ten)) {
+                return i + 2;
+            }
+            for (int n = 0; n < 3 && i < end && buf[i] == one; n++) i++;
+            return i;
+        }
+    }
+
+    public static class CaptionCleanup implements Stage {
+        private static final String[] FILLERS = {"um", "umm", "uh", "uhh", "erm", "hmm"};
+        private static final String[] CUES = {"music", "applause", "laughter", "laughing", "laughs", "inaudible",
+                "silence", "cheering", "cheers", "crosstalk", "indistinct", "coughing", "coughs", "sighs", "noise",
+                "background", "sound", "sounds", "effects", "foreign", "language", "speaking", "playing", "upbeat",
+                "instrumental", "no", "audio"};
+
+        @Override
+        public int apply(char[] buf, int start, int end) {
+            int write = start;
+            int i = start;
+            while (i < end) {
+                char c = buf[i];
+                if (c == '[') {
+                    int close = indexOf(buf, i + 1, end, ']');
+                    if (close > 0 && close - i <= MAX_ANNOTATION_CHARS && isCue(buf, i + 1, close)) {
+                        i = close + 1;
+                        continue;
+                    }
+                }
+                if (c == '\u266A' || c == '\u266B') {
+                    i++;
+                    continue;
+                }
+                if (c == '>' && i + 1 < end && buf[i + 1] == '>') {
+                    i += 2;
+                    continue;
+                }
+                if (Character.isLetter(c) && (i == start || !Character.isLetter(buf[i - 1]))) {
+                    int wordEnd = i;
+                    while (wordEnd < end && Character.isLetter(buf[wordEnd])) wordEnd++;
+                    if (matchesAny(FILLERS, buf, i, wordEnd)) {
+                        i = wordEnd;
+                        if (i < end && buf[i] == ',') i++;
+                        continue;
+                    }
+                    while (i < wordEnd) buf[write++] = buf[i++];
+                    continue;
+                }
+                buf[write++] = c;
+                i++;
+            }
+            return write;
+        }
+
+        private static boolean isCue(char[] buf, int start, int end) {
+            boolean any = false;
+            int i = start;
+            while (i < end) {
+                char c = buf[i];
+                if (c == ' ' || c == '-') {
+                    i++;
+                    continue;
+                }
+                int wordEnd = i;
+                while (wordEnd < end && Character.isLetter(buf[wordEnd])) wordEnd++;
+                if (wordEnd == i || !matchesAny(CUES, buf, i, wordEnd)) return false;
+                any = true;
+                i = wordEnd;
+            }
+            return any;
+        }
+
+        private static boolean matchesAny(String[] words, char[] buf, int start, int end) {
+            for (String word : words) {
+                if (word.length() != end - start) continue;
+                boolean match = true;
+                for (int i = 0; i < word.length() && match; i++) {
+                    match = Character.toLowerCase(buf[start + i]) == word.charAt(i);
+                }
+                if (match) return true;
+            }
+            return false;
+        }
+
+        private static int indexOf(char[] buf, int start, int end, char target) {
+            for (int i = start; i < end; i++) {
+                if (buf[i] == target) return i;
+            }
+            return -1;
+        }
+    }
+
+    private static int skipSpaces(char[] buf, int start, int end) {
+        int i = start;
+        while (i < end && Character.isWhitespace(buf[i])) i++;
+        return i;
+    }
+
+    public static class Result {
+        private final String text;
+        private final int originalChars;
+
+        Result(String text, int originalChars) {
+            this.text = text;
+            this.originalChars = originalChars;
+        }
+
+        public String getText() { return text; }
+        public int getOriginalChars() { return originalChars; }
+        public int getSavedChars() { return originalChars - text.length(); }
+
+        public double getSavedRatio() {
+            return originalChars == 0 ? 0.0 : (double) getSavedChars() / originalChars;
+        }
+    }
+}
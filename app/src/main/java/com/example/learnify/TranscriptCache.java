@@ -0,0 +1,102 @@
+package com.example.learnify;
+
+import android.content.Context;
+import android.util.Log;
+
+import java.io.File;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class TranscriptCache {
+
+    private static final String TAG = "TranscriptCache";
+    private static final String FORMAT_VERSION = "1";
+    private static final long DEFAULT_MAX_BYTES = 5 * 1024 * 1024;
+    private static final long DEFAULT_TTL_MS = TimeUnit.DAYS.toMillis(3);
+    private static final long DEFAULT_MAX_STALE_MS = TimeUnit.DAYS.toMillis(30);
+
+    private static TranscriptCache instance;
+    private final DiskCache diskCache;
+    private final AtomicInteger hits = new AtomicInteger();
+    private final AtomicInteger staleHits = new AtomicInteger();
+    private final AtomicInteger misses = new AtomicInteger();
+    private volatile long ttlMs = DEFAULT_TTL_MS;
+    private volatile long maxStaleMs = DEFAULT_MAX_STALE_MS;
+
+    private TranscriptCache(Context context) {
+        File directory = new File(context.getApplicationContext().getCacheDir(), "transcript_cache");
+        diskCache = new DiskCache(directory, DEFAULT_MAX_BYTES);
+    }
+
+    public static synchronized TranscriptCache getInstance(Context context) {
+        if (instance == null) {
+            instance = new TranscriptCache(context);
+        }
+        return instance;
+    }
+
+    public static String key(String videoId, String captionLanguage) {
+        return DiskCache.sha256("transcript", videoId, captionLanguage == null ? "" : captionLanguage, FORMAT_VERSION);
+    }
+
+    public void setTtl(long ttlMs, long maxStaleMs) {
+        this.ttlMs = ttlMs;
+        this.maxStaleMs = Math.max(ttlMs, maxStaleMs);
+    }
+
+    public void setMaxBytes(long maxBytes) {
+        diskCache.setMaxBytes(maxBytes);
+    }
+
+    public Lookup get(String key) {
+        DiskCache.Entry entry = diskCache.get(key);
+        long age = entry == null ? 0 : System.currentTimeMillis() - entry.getCreatedAt();
+        if (entry == null || age > maxStaleMs || entry.getValue().isEmpty()) {
+            if (entry != null) diskCache.remove(key);
+            misses.incrementAndGet();
+            logStats();
+            return null;
+        }
+
+        boolean stale = age > ttlMs;
+        (stale ? staleHits : hits).incrementAndGet();
+        logStats();
+        return new Lookup(entry.getValue(), stale);
+    }
+
+    public void put(String key, String transcript) {
+        if (transcript == null || transcript.isEmpty()) return;
+        diskCache.put(key, transcript);
+    }
+
+    public int getHitCount() {
+        return hits.get();
+    }
+
+    public int getStaleHitCount() {
+        return staleHits.get();
+    }
+
+    public int getMissCount() {
+        return misses.get();
+    }
+
+    private void logStats() {
+        Log.d(TAG, String.format(Locale.ROOT, "hits=%d staleHits=%d misses=%d size=%dB",
+                hits.get(), staleHits.get(), misses.get(), diskCache.size()));
+    }
+
+    public static class Lookup {
+        private final String transcript;
+        private final boolean stale;
+
+        Lookup(String transcript, boolean stale) {
+            this.transcript = transcript;
+            this.stale = stale;
+        }
+
+        public String getTranscript() { return transcript; }
+        public boolean isStale() { return stale; }
+    }
+}
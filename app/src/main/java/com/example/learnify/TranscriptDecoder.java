@@ -0,0 +1,157 @@
+package com.example.learnify;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+public class TranscriptDecoder {
+
+    private static final int DEFAULT_CAPACITY = 16 * 1024;
+
+    private TranscriptDecoder() {}
+
+    public static Result decode(Reader in, int charBudget, long sizeHint, ProgressListener listener) throws IOException {
+        JsonReader reader = new JsonReader(in);
+        Result result = new Result();
+        int capacity = (int) Math.min(charBudget, sizeHint > 0 ? sizeHint : DEFAULT_CAPACITY);
+
+        if (reader.peek() == JsonToken.BEGIN_ARRAY) {
+            result.text = new StringBuilder(capacity);
+            result.truncated = readSegments(reader, result.text, charBudget, listener);
+            return result;
+        }
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            JsonToken token = reader.peek();
+            if ("transcript".equals(name) && token == JsonToken.BEGIN_ARRAY) {
+                result.text = new StringBuilder(capacity);
+                result.truncated = readSegments(reader, result.text, charBudget, listener);
+                return result;
+            } else if ("languageMenu".equals(name) && token == JsonToken.BEGIN_ARRAY) {
+                readLanguages(reader, result.languages);
+            } else if ("msg".equals(name) && token != JsonToken.NULL) {
+                result.msg = readString(reader);
+            } else if ("message".equals(name) && token != JsonToken.NULL) {
+                result.message = readString(reader);
+            } else {
+                reader.skipValue();
+            }
+        }
+        return result;
+    }
+
+    private static boolean readSegments(JsonReader reader, StringBuilder out, int charBudget, ProgressListener listener) throws IOException {
+        int progressStep = Math.max(1, charBudget / 10);
+        int nextProgress = progressStep;
+
+        reader.beginArray();
+        while (reader.hasNext()) {
+            if (Thread.currentThread().isInterrupted()) throw new InterruptedIOException("Transcript read cancelled");
+            if (out.length() >= charBudget) return true;
+
+            if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+                reader.skipValue();
+                continue;
+            }
+            String segment = readSegment(reader);
+            if (segment != null) out.append(segment).append(' ');
+
+            if (listener != null && out.length() >= nextProgress) {
+                listener.onProgress(Math.min(out.length(), charBudget), charBudget);
+                nextProgress = out.length() + progressStep;
+            }
+        }
+        reader.endArray();
+        return false;
+    }
+
+    private static String readSegment(JsonReader reader) throws IOException {
+        String text = null;
+        String snippet = null;
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            if ("text".equals(name) && reader.peek() != JsonToken.NULL) {
+                text = readString(reader);
+            } else if ("snippet".equals(name) && reader.peek() != JsonToken.NULL) {
+                snippet = readString(reader);
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return text != null ? text : snippet;
+    }
+
+    private static void readLanguages(JsonReader reader, List<Language> languages) throws IOException {
+        reader.beginArray();
+        while (reader.hasNext()) {
+            if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+                reader.skipValue();
+                continue;
+            }
+            String title = "";
+            String params = null;
+            reader.beginObject();
+            while (reader.hasNext()) {
+                String name = reader.nextName();
+                if ("title".equals(name) && reader.peek() != JsonToken.NULL) {
+                    title = readString(reader);
+                } else if ("params".equals(name) && reader.peek() != JsonToken.NULL) {
+                    params = readString(reader);
+                } else {
+                    reader.skipValue();
+                }
+            }
+            reader.endObject();
+            languages.add(new Language(title, params));
+        }
+        reader.endArray();
+    }
+
+    private static String readString(JsonReader reader) throws IOException {
+        JsonToken token = reader.peek();
+        if (token == JsonToken.STRING || token == JsonToken.NUMBER) return reader.nextString();
+        if (token == JsonToken.BOOLEAN) return String.valueOf(reader.nextBoolean());
+        reader.skipValue();
+        return null;
+    }
+
+    public static class Result {
+        private StringBuilder text;
+        private boolean truncated;
+        private final List<Language> languages = new ArrayList<>();
+        private String msg;
+        private String message;
+
+        public boolean hasTranscript() { return text != null; }
+        public String getText() { return text == null ? null : text.toString(); }
+        public boolean isTruncated() { return truncated; }
+        public List<Language> getLanguages() { return languages; }
+        public String getMessage() { return msg != null ? msg : message; }
+    }
+
+    public static class Language {
+        private final String title;
+        private final String params;
+
+        Language(String title, String params) {
+            this.title = title;
+            this.params = params;
+        }
+
+        public String getTitle() { return title; }
+        public String getParams() { return params; }
+    }
+
+    public interface ProgressListener {
+        void onProgress(int charsRead, int charBudget);
+    }
+}
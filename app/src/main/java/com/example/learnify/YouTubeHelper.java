@@ -1,17 +1,30 @@
 package com.example.learnify;
 
-import android.os.Handler;
-import android.os.Looper;
+import android.content.Context;
 import android.util.Log;
 
-import org.json.JSONArray;
-import org.json.JSONObject;
-
+import com.google.common.util.concurrent.RateLimiter;
+import com.google.gson.JsonParseException;
+import com.google.gson.stream.MalformedJsonException;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
+import okhttp3.Call;
 import okhttp3.OkHttpClient;
 import okhttp3.Request;
 import okhttp3.Response;
@@ -22,31 +35,283 @@ public class YouTubeHelper {
 
     private static final String RAPID_API_KEY = BuildConfig.RAPID_API_KEY;
     private static final String RAPID_API_HOST = BuildConfig.RAPID_API_HOST;
+    private static final int MAX_TRANSCRIPT_CHARS = 100_000;
+    private static final int RAW_TRANSCRIPT_CHARS = MAX_TRANSCRIPT_CHARS + MAX_TRANSCRIPT_CHARS / 4;
+    private static final int MAX_BATCH_CHARS = 300_000;
+    private static final int MAX_BATCH_VIDEOS = 25;
+    private static final int DEFAULT_BATCH_CONCURRENCY = 3;
+    private static final double DEFAULT_REQUESTS_PER_SECOND = 4.0;
+    private static final String DEFAULT_CAPTION_LANGUAGE = "English";
+    private static final long PERMIT_WAIT_MS = 50;
+    private static final Pattern PLAYLIST_ID = Pattern.compile("[?&]list=([A-Za-z0-9_-]+)");
+    private static final Pattern PLAYLIST_VIDEO_ID = Pattern.compile("\"videoId\"\\s*:\\s*\"([A-Za-z0-9_-]{11})\"");
+    private static final Map<String, RateLimiter> RATE_LIMITERS = new ConcurrentHashMap<>();
 
     private final OkHttpClient client;
     private final ExecutorService executor;
-    private final Handler mainHandler;
+    private final AppExecutors.MainThread mainThread;
+    private final TranscriptCache transcriptCache;
+    private final Set<String> revalidating = ConcurrentHashMap.newKeySet();
+    private volatile String apiBaseUrl = "https://" + RAPID_API_HOST;
+    private volatile String playlistBaseUrl = "https://www.youtube.com";
+    private volatile int batchConcurrency = DEFAULT_BATCH_CONCURRENCY;
+    private volatile double requestsPerSecond = DEFAULT_REQUESTS_PER_SECOND;
+    private volatile boolean cacheEnabled = true;
+    private volatile String captionLanguage = DEFAULT_CAPTION_LANGUAGE;
+
+    public YouTubeHelper(Context context) {
+        this.client = HttpClientProvider.getInstance(context).getClient();
+        this.executor = AppExecutors.getInstance().io();
+        this.mainThread = AppExecutors.getInstance().mainThread();
+        this.transcriptCache = TranscriptCache.getInstance(context);
+    }
 
-    public YouTubeHelper() {
-        this.client = new OkHttpClient();
-        this.executor = Executors.newSingleThreadExecutor();
-        this.mainHandler = new Handler(Looper.getMainLooper());
+    public void setApiBaseUrl(String apiBaseUrl) {
+        this.apiBaseUrl = trimSlash(apiBaseUrl);
     }
 
-    public void getTranscript(String videoUrl, TranscriptCallback callback) {
-        executor.execute(() -> {
+    public void setPlaylistBaseUrl(String playlistBaseUrl) {
+        this.playlistBaseUrl = trimSlash(playlistBaseUrl);
+    }
+
+    public void setBatchConcurrency(int batchConcurrency) {
+        this.batchConcurrency = Math.max(1, batchConcurrency);
+    }
+
+    public void setRequestsPerSecond(double requestsPerSecond) {
+        this.requestsPerSecond = requestsPerSecond;
+        for (RateLimiter limiter : RATE_LIMITERS.values()) limiter.setRate(requestsPerSecond);
+    }
+
+    public void setCacheEnabled(boolean cacheEnabled) {
+        this.cacheEnabled = cacheEnabled;
+    }
+
+    public void setCaptionLanguage(String captionLanguage) {
+        this.captionLanguage = captionLanguage == null ? DEFAULT_CAPTION_LANGUAGE : captionLanguage;
+    }
+
+    public CancellableTask getTranscript(String videoUrl, TranscriptCallback callback) {
+        CancellableTask task = new CancellableTask();
+        TranscriptCallback delivery = guard(task, callback);
+        task.setFuture(executor.submit(() -> {
             String videoId = extractVideoId(videoUrl);
             if (videoId == null) {
-                postError(callback, "Invalid YouTube URL.");
+                postError(delivery, "Invalid YouTube URL.");
+                return;
+            }
+
+            try {
+                String transcript = transcriptFor(videoId, task, (charsRead, charBudget) -> {
+                    float fraction = task.setProgress(charsRead, charBudget);
+                    mainThread.execute(() -> delivery.onProgress(fraction));
+                });
+                mainThread.execute(() -> delivery.onSuccess(transcript, videoId));
+            } catch (TranscriptException e) {
+                postError(delivery, e.getMessage());
+            }
+        }));
+        return task;
+    }
+
+    public CancellableTask getTranscripts(List<String> urls, BatchCallback callback) {
+        CancellableTask task = new CancellableTask();
+        BatchCallback delivery = guard(task, callback);
+        task.setFuture(executor.submit(() -> {
+            List<VideoResult> results = new ArrayList<>();
+            List<String> videoIds = new ArrayList<>();
+            resolveVideos(urls, task, videoIds, results);
+
+            if (Thread.currentThread().isInterrupted()) return;
+            if (videoIds.isEmpty()) {
+                mainThread.execute(() -> delivery.onError(new Exception(results.isEmpty()
+                        ? "No videos found." : results.get(0).getError())));
                 return;
             }
-            fetchTranscriptData(videoId, null, callback);
+            fetchBatch(videoIds, results, task, delivery);
+        }));
+        return task;
+    }
+
+    public static boolean isPlaylistUrl(String url) {
+        return url.contains("/playlist") && PLAYLIST_ID.matcher(url).find();
+    }
+
+    public static List<String> splitUrls(String input) {
+        List<String> urls = new ArrayList<>();
+        for (String part : input.trim().split("[\\s,]+")) {
+            if (part.isEmpty()) continue;
+            urls.add(part.startsWith("http://") || part.startsWith("https://") ? part : "https://" + part);
+        }
+        return urls;
+    }
+
+    private void resolveVideos(List<String> urls, CancellableTask task, List<String> videoIds, List<VideoResult> failures) {
+        Set<String> seen = new LinkedHashSet<>();
+        for (String url : urls) {
+            if (Thread.currentThread().isInterrupted()) return;
+            if (isPlaylistUrl(url)) {
+                try {
+                    seen.addAll(fetchPlaylist(url, task));
+                } catch (TranscriptException e) {
+                    failures.add(new VideoResult(url, null, e.getMessage()));
+                }
+            } else {
+                String videoId = extractVideoId(url);
+                if (videoId == null) {
+                    failures.add(new VideoResult(url, null, "Invalid YouTube URL."));
+                } else {
+                    seen.add(videoId);
+                }
+            }
+        }
+
+        for (String videoId : seen) {
+            if (videoIds.size() == MAX_BATCH_VIDEOS) {
+                Log.d(TAG, "Batch limited to " + MAX_BATCH_VIDEOS + " videos");
+                break;
+            }
+            videoIds.add(videoId);
+        }
+    }
+
+    private List<String> fetchPlaylist(String url, CancellableTask task) throws TranscriptException {
+        Matcher idMatcher = PLAYLIST_ID.matcher(url);
+        if (!idMatcher.find()) throw new TranscriptException("Invalid YouTube URL.");
+        String playlistUrl = playlistBaseUrl + "/playlist?list=" + idMatcher.group(1);
+
+        Request request = new Request.Builder()
+                .url(playlistUrl)
+                .get()
+                .build();
+
+        try {
+            acquirePermit(playlistUrl);
+            Call call = client.newCall(request);
+            task.onCancel(call::cancel);
+            try (Response response = call.execute()) {
+                if (!response.isSuccessful() || response.body() == null) {
+                    throw new TranscriptException("Could not open this playlist.");
+                }
+                Set<String> ids = new LinkedHashSet<>();
+                Matcher matcher = PLAYLIST_VIDEO_ID.matcher(response.body().string());
+                while (matcher.find()) ids.add(matcher.group(1));
+                if (ids.isEmpty()) throw new TranscriptException("This playlist has no videos.");
+                return new ArrayList<>(ids);
+            }
+        } catch (IOException | RuntimeException e) {
+            Log.e(TAG, "Error", e);
+            throw new TranscriptException("Connection failed. Check internet.");
+        }
+    }
+
+    private void fetchBatch(List<String> videoIds, List<VideoResult> failures, CancellableTask task, BatchCallback callback) {
+        int total = videoIds.size();
+        VideoResult[] results = new VideoResult[total];
+        String[] transcripts = new String[total];
+        AtomicInteger nextVideo = new AtomicInteger();
+        AtomicInteger videosDone = new AtomicInteger();
+        int lanes = Math.min(batchConcurrency, total);
+        AtomicInteger lanesLeft = new AtomicInteger(lanes);
+        List<Future<?>> futures = Collections.synchronizedList(new ArrayList<>());
+
+        for (int lane = 0; lane < lanes; lane++) {
+            futures.add(executor.submit(() -> {
+                try {
+                    int index;
+                    while (!Thread.currentThread().isInterrupted() && (index = nextVideo.getAndIncrement()) < total) {
+                        String videoId = videoIds.get(index);
+                        VideoResult result;
+                        try {
+                            transcripts[index] = transcriptFor(videoId, task, null);
+                            result = new VideoResult("https://youtu.be/" + videoId, videoId, null);
+                        } catch (TranscriptException e) {
+                            result = new VideoResult("https://youtu.be/" + videoId, videoId, e.getMessage());
+                        }
+                        results[index] = result;
+
+                        int done = videosDone.incrementAndGet();
+                        float fraction = task.setProgress(done, total);
+                        int videoIndex = index;
+                        VideoResult videoResult = result;
+                        mainThread.execute(() -> {
+                            callback.onVideo(videoIndex, total, videoResult);
+                            callback.onProgress(fraction);
+                        });
+                    }
+                } finally {
+                    if (lanesLeft.decrementAndGet() == 0 && !Thread.currentThread().isInterrupted()) {
+                        finishBatch(transcripts, results, failures, callback);
+                    }
+                }
+            }));
+        }
+        task.onCancel(() -> {
+            synchronized (futures) {
+                for (Future<?> future : futures) future.cancel(true);
+            }
+        });
+    }
+
+    private void finishBatch(String[] transcripts, VideoResult[] results, List<VideoResult> failures, BatchCallback callback) {
+        int succeeded = 0;
+        for (String transcript : transcripts) {
+            if (transcript != null) succeeded++;
+        }
+        if (succeeded == 0) {
+            postBatchError(callback, "Could not get captions for any of these videos.");
+            return;
+        }
+
+        int share = MAX_BATCH_CHARS / succeeded;
+        StringBuilder combined = new StringBuilder(Math.min(MAX_BATCH_CHARS, share * succeeded) + succeeded * 64);
+        List<VideoResult> all = new ArrayList<>(failures);
+        for (int i = 0; i < transcripts.length; i++) {
+            all.add(results[i]);
+            if (transcripts[i] == null) continue;
+            String text = transcripts[i].length() > share ? transcripts[i].substring(0, share) : transcripts[i];
+            combined.append("=== Video ").append(i + 1).append(" of ").append(transcripts.length)
+                    .append(": ").append(results[i].getSource()).append(" ===\n")
+                    .append(text).append("\n\n");
+        }
+
+        String text = combined.toString().trim();
+        mainThread.execute(() -> callback.onSuccess(text, all));
+    }
+
+    private String transcriptFor(String videoId, CancellableTask task, TranscriptDecoder.ProgressListener progress) throws TranscriptException {
+        String language = captionLanguage;
+        String cacheKey = TranscriptCache.key(videoId, language);
+        if (cacheEnabled) {
+            TranscriptCache.Lookup cached = transcriptCache.get(cacheKey);
+            if (cached != null) {
+                if (cached.isStale()) revalidate(videoId, language, cacheKey);
+                return cached.getTranscript();
+            }
+        }
+
+        String transcript = fetchTranscript(videoId, language, null, task, progress);
+        if (cacheEnabled) transcriptCache.put(cacheKey, transcript);
+        return transcript;
+    }
+
+    private void revalidate(String videoId, String language, String cacheKey) {
+        if (!revalidating.add(cacheKey)) return;
+        Log.d(TAG, "Revalidating cached transcript for " + videoId);
+        executor.execute(() -> {
+            try {
+                transcriptCache.put(cacheKey, fetchTranscript(videoId, language, null, new CancellableTask(), null));
+            } catch (TranscriptException e) {
+                Log.d(TAG, "Revalidation failed: " + e.getMessage());
+            } finally {
+                revalidating.remove(cacheKey);
+            }
         });
     }
 
-    private void fetchTranscriptData(String videoId, String params, TranscriptCallback callback) {
+    private String fetchTranscript(String videoId, String captionLanguage, String params, CancellableTask task, TranscriptDecoder.ProgressListener progress) throws TranscriptException {
         try {
-            String url = "https://" + RAPID_API_HOST + "/get_transcript?id=" + videoId;
+            String url = apiBaseUrl + "/get_transcript?id=" + videoId;
             if (params != null && !params.isEmpty()) {
                 url += "&params=" + params;
             }
@@ -60,108 +325,99 @@ public class YouTubeHelper {
                     .addHeader("x-rapidapi-host", RAPID_API_HOST)
                     .build();
 
-            try (Response response = client.newCall(request).execute()) {
+            acquirePermit(url);
+            Call call = client.newCall(request);
+            task.onCancel(call::cancel);
+            try (Response response = call.execute()) {
                 if (!response.isSuccessful() || response.body() == null) {
                     if (response.code() == 403 || response.code() == 429) {
-                        postError(callback, "Server busy. Please try again later.");
-                    } else {
-                        postError(callback, "Captions unavailable for this video.");
+                        throw new TranscriptException("Server busy. Please try again later.");
                     }
-                    return;
-                }
-
-                String jsonResponse = response.body().string();
-
-                if (jsonResponse.trim().startsWith("[")) {
-                    processSuccessArray(jsonResponse, videoId, callback);
-                    return;
+                    throw new TranscriptException("Captions unavailable for this video.");
                 }
 
-                JSONObject root = new JSONObject(jsonResponse);
+                TranscriptDecoder.Result decoded = TranscriptDecoder.decode(response.body().charStream(),
+                        RAW_TRANSCRIPT_CHARS, response.body().contentLength(), progress);
 
-                if (root.has("transcript")) {
-                    JSONArray array = root.getJSONArray("transcript");
-                    processTranscriptArray(array, videoId, callback);
-                    return;
+                if (decoded.hasTranscript()) {
+                    if (decoded.isTruncated()) Log.d(TAG, "Stopped reading transcript at " + RAW_TRANSCRIPT_CHARS + " chars");
+                    return processTranscript(decoded.getText());
                 }
 
-                if (params == null && root.has("languageMenu")) {
-                    JSONArray menu = root.getJSONArray("languageMenu");
+                if (params == null && !decoded.getLanguages().isEmpty()) {
                     String foundParams = null;
 
-                    for (int i = 0; i < menu.length(); i++) {
-                        JSONObject item = menu.getJSONObject(i);
-                        String title = item.optString("title", "");
-
-                        if (title.contains("English")) {
-                            foundParams = item.optString("params", null);
+                    for (TranscriptDecoder.Language language : decoded.getLanguages()) {
+                        if (language.getTitle().contains(captionLanguage)) {
+                            foundParams = language.getParams();
                             break;
                         }
                     }
 
-                    if (foundParams == null && menu.length() > 0) {
-                        foundParams = menu.getJSONObject(0).optString("params", null);
+                    if (foundParams == null) {
+                        foundParams = decoded.getLanguages().get(0).getParams();
                     }
 
                     if (foundParams != null) {
                         Log.d(TAG, "Retrying with params: " + foundParams);
-                        fetchTranscriptData(videoId, foundParams, callback);
-                        return;
+                        return fetchTranscript(videoId, captionLanguage, foundParams, task, progress);
                     }
                 }
 
-                if (root.has("msg")) {
-                    postError(callback, root.getString("msg"));
-                } else if (root.has("message")) {
-                    postError(callback, root.getString("message"));
-                } else {
-                    postError(callback, "No speech text found in this video.");
+                if (decoded.getMessage() != null) {
+                    throw new TranscriptException(decoded.getMessage());
                 }
+                throw new TranscriptException("No speech text found in this video.");
             }
 
-        } catch (Exception e) {
+        } catch (MalformedJsonException | JsonParseException | IllegalStateException e) {
+            Log.e(TAG, "Error", e);
+            throw new TranscriptException("Failed to parse transcript.");
+        } catch (IOException | RuntimeException e) {
             Log.e(TAG, "Error", e);
-            postError(callback, "Connection failed. Check internet.");
+            throw new TranscriptException("Connection failed. Check internet.");
         }
     }
 
-    private void processSuccessArray(String jsonArrayString, String videoId, TranscriptCallback callback) {
+    private String processTranscript(String rawText) throws TranscriptException {
+        String finalText;
         try {
-            JSONArray array = new JSONArray(jsonArrayString);
-            processTranscriptArray(array, videoId, callback);
-        } catch (Exception e) {
-            postError(callback, "Failed to parse transcript.");
+            TextNormalizer.Result normalized = TextNormalizer.forCaptions().normalize(rawText);
+            Log.d(TAG, "Normalized transcript: saved " + normalized.getSavedChars() + " of " + normalized.getOriginalChars() + " chars");
+            finalText = normalized.getText().trim();
+        } catch (RuntimeException e) {
+            throw new TranscriptException("Error processing text.");
         }
-    }
 
-    private void processTranscriptArray(JSONArray array, String videoId, TranscriptCallback callback) {
-        try {
-            StringBuilder fullText = new StringBuilder();
-            for (int i = 0; i < array.length(); i++) {
-                JSONObject segment = array.getJSONObject(i);
-                if (segment.has("text")) {
-                    fullText.append(segment.getString("text")).append(" ");
-                } else if (segment.has("snippet")) {
-                    fullText.append(segment.getString("snippet")).append(" ");
-                }
-            }
+        if (finalText.isEmpty()) {
+            throw new TranscriptException("Transcript was empty.");
+        }
 
-            String finalText = fullText.toString().trim();
-            if (finalText.isEmpty()) {
-                postError(callback, "Transcript was empty.");
-                return;
-            }
+        if (finalText.length() > MAX_TRANSCRIPT_CHARS) {
+            finalText = finalText.substring(0, MAX_TRANSCRIPT_CHARS);
+        }
+        return finalText;
+    }
 
-            if (finalText.length() > 100000) {
-                finalText = finalText.substring(0, 100000);
+    private void acquirePermit(String url) throws InterruptedIOException {
+        String host = URI.create(url).getHost();
+        RateLimiter limiter = RATE_LIMITERS.computeIfAbsent(host == null ? "" : host, k -> RateLimiter.create(requestsPerSecond));
+        // RateLimiter.acquire() sleeps uninterruptibly, so wait in short slices to let task.cancel() stop a queued request.
+        while (true) {
+            if (Thread.interrupted()) break;
+            if (limiter.tryAcquire(PERMIT_WAIT_MS, TimeUnit.MILLISECONDS)) return;
+            try {
+                Thread.sleep(PERMIT_WAIT_MS);
+            } catch (InterruptedException e) {
+                break;
             }
-
-            String result = finalText;
-            mainHandler.post(() -> callback.onSuccess(result, videoId));
-
-        } catch (Exception e) {
-            postError(callback, "Error processing text.");
         }
+        Thread.currentThread().interrupt();
+        throw new InterruptedIOException("Cancelled while waiting to send " + url);
+    }
+
+    private static String trimSlash(String url) {
+        return url.endsWith("/") ? url.substring(0, url.length() - 1) : url;
     }
 
     private String extractVideoId(String url) {
@@ -172,12 +428,101 @@ public class YouTubeHelper {
         return null;
     }
 
+    private static TranscriptCallback guard(CancellableTask task, TranscriptCallback callback) {
+        return new TranscriptCallback() {
+            @Override
+            public void onSuccess(String transcriptText, String videoId) {
+                if (task.isCancelled()) return;
+                task.finish();
+                callback.onSuccess(transcriptText, videoId);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                if (task.isCancelled()) return;
+                task.finish();
+                callback.onError(t);
+            }
+
+            @Override
+            public void onProgress(float fraction) {
+                if (!task.isCancelled()) callback.onProgress(fraction);
+            }
+        };
+    }
+
+    private static BatchCallback guard(CancellableTask task, BatchCallback callback) {
+        return new BatchCallback() {
+            @Override
+            public void onSuccess(String combinedText, List<VideoResult> results) {
+                if (task.isCancelled()) return;
+                task.finish();
+                callback.onSuccess(combinedText, results);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                if (task.isCancelled()) return;
+                task.finish();
+                callback.onError(t);
+            }
+
+            @Override
+            public void onVideo(int index, int total, VideoResult result) {
+                if (!task.isCancelled()) callback.onVideo(index, total, result);
+            }
+
+            @Override
+            public void onProgress(float fraction) {
+                if (!task.isCancelled()) callback.onProgress(fraction);
+            }
+        };
+    }
+
     private void postError(TranscriptCallback callback, String msg) {
-        mainHandler.post(() -> callback.onError(new Exception(msg)));
+        mainThread.execute(() -> callback.onError(new Exception(msg)));
+    }
+
+    private void postBatchError(BatchCallback callback, String msg) {
+        mainThread.execute(() -> callback.onError(new Exception(msg)));
+    }
+
+    private static class TranscriptException extends Exception {
+        TranscriptException(String message) {
+            super(message);
+        }
+    }
+
+    public static class VideoResult {
+        private final String source;
+        private final String videoId;
+        private final String error;
+
+        VideoResult(String source, String videoId, String error) {
+            this.source = source;
+            this.videoId = videoId;
+            this.error = error;
+        }
+
+        public String getSource() { return source; }
+        public String getVideoId() { return videoId; }
+        public String getError() { return error; }
+        public boolean isSuccessful() { return error == null; }
     }
 
     public interface TranscriptCallback {
         void onSuccess(String transcriptText, String videoId);
         void onError(Throwable t);
+
+        default void onProgress(float fraction) {}
+    }
+
+    public interface BatchCallback {
+        void onSuccess(String combinedText, List<VideoResult> results);
+        void onError(Throwable t);
+
+        default void onVideo(int index, int total, VideoResult result) {}
+
+        default void onProgress(float fraction) {}
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,30 @@
+package com.example.learnify;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class ImageBatchExtractorTest {
+
+    @Test
+    public void retakeOfTheSameSlideIsDuplicate() {
+        String kept = "Cell Division\nMitosis produces two identical daughter cells.\nPhases: prophase, metaphase, anaphase, telophase";
+        String retake = "Cell Division\nMitosis produces two identical daughter cells\nPhases: prophase, metaphase, anaphase, telophase.";
+        assertTrue(ImageBatchExtractor.sameText(kept, retake));
+    }
+
+    @Test
+    public void sameTemplateWithDifferentContentIsKept() {
+        String slide4 = "Cell Division\nMitosis produces two identical daughter cells.\nPhases: prophase, metaphase, anaphase, telophase";
+        String slide5 = "Cell Division\nMeiosis produces four haploid gametes.\nPhases: meiosis I and meiosis II with crossing over";
+        assertFalse(ImageBatchExtractor.sameText(slide4, slide5));
+    }
+
+    @Test
+    public void failedRecognitionIsNeverDuplicate() {
+        assertFalse(ImageBatchExtractor.sameText(null, "Cell Division"));
+        assertFalse(ImageBatchExtractor.sameText("Cell Division", null));
+        assertFalse(ImageBatchExtractor.sameText("", "Cell Division"));
+        assertTrue(ImageBatchExtractor.sameText("", " "));
+    }
+}
@@ -0,0 +1,141 @@
+package com.example.learnify;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.*;
+
+public class OcrPipelineTest {
+
+    private static final int DEPTH = 2;
+
+    @Test
+    public void pagesAreReportedInRequestOrder() throws Exception {
+        FakeRenderer renderer = new FakeRenderer(-1);
+        List<Integer> pages = Arrays.asList(4, 0, 7, 2, 9, 1);
+        List<Integer> reported = new ArrayList<>();
+
+        new OcrPipeline<>(renderer, image -> "text " + image.pageIndex, DEPTH).run(pages, (pageIndex, text) -> {
+            assertEquals("text " + pageIndex, text);
+            reported.add(pageIndex);
+        });
+
+        assertEquals(pages, reported);
+        assertEquals(pages, renderer.renderOrder);
+        renderer.assertAllReleased();
+    }
+
+    @Test
+    public void cancellationStopsRenderingBetweenPages() throws Exception {
+        FakeRenderer renderer = new FakeRenderer(-1);
+        List<Integer> pages = new ArrayList<>();
+        for (int i = 0; i < 50; i++) pages.add(i);
+        List<Integer> reported = Collections.synchronizedList(new ArrayList<>());
+        AtomicReference<Throwable> thrown = new AtomicReference<>();
+
+        Thread caller = new Thread(() -> {
+            try {
+                new OcrPipeline<>(renderer, image -> "text", DEPTH).run(pages, (pageIndex, text) -> {
+                    reported.add(pageIndex);
+                    if (pageIndex == 2) Thread.currentThread().interrupt();
+                });
+            } catch (Throwable t) {
+                thrown.set(t);
+            }
+        });
+        caller.start();
+        caller.join(5000);
+
+        assertFalse(caller.isAlive());
+        assertTrue(thrown.get() instanceof InterruptedException);
+        assertEquals(Arrays.asList(0, 1, 2), reported);
+        assertTrue("rendered " + renderer.rendered.size() + " pages", renderer.rendered.size() <= reported.size() + DEPTH + 1);
+        renderer.assertAllReleased();
+    }
+
+    @Test
+    public void recognizerErrorReleasesEveryRenderedPage() throws Exception {
+        FakeRenderer renderer = new FakeRenderer(-1);
+        List<Integer> reported = new ArrayList<>();
+        OcrPipeline<FakeImage> pipeline = new OcrPipeline<>(renderer, image -> {
+            if (image.pageIndex == 3) throw new IllegalStateException("recognizer failed");
+            return "text";
+        }, DEPTH);
+
+        try {
+            pipeline.run(Arrays.asList(0, 1, 2, 3, 4, 5, 6, 7), (pageIndex, text) -> reported.add(pageIndex));
+            fail("Expected the recognizer error");
+        } catch (IllegalStateException e) {
+            assertEquals("recognizer failed", e.getMessage());
+        }
+
+        assertEquals(Arrays.asList(0, 1, 2), reported);
+        assertTrue(renderer.rendered.size() >= 4);
+        renderer.assertAllReleased();
+    }
+
+    @Test
+    public void renderErrorReleasesEarlierPages() throws Exception {
+        FakeRenderer renderer = new FakeRenderer(2);
+        List<Integer> reported = new ArrayList<>();
+
+        try {
+            new OcrPipeline<>(renderer, image -> "text", DEPTH)
+                    .run(Arrays.asList(0, 1, 2, 3, 4), (pageIndex, text) -> reported.add(pageIndex));
+            fail("Expected the render error");
+        } catch (IOException e) {
+            assertEquals("render failed", e.getMessage());
+        }
+
+        assertEquals(Arrays.asList(0, 1), reported);
+        assertEquals(Arrays.asList(0, 1, 2), renderer.renderOrder);
+        renderer.assertAllReleased();
+    }
+
+    private static class FakeImage {
+        final int pageIndex;
+
+        FakeImage(int pageIndex) {
+            this.pageIndex = pageIndex;
+        }
+    }
+
+    private static class FakeRenderer implements OcrPipeline.PageRenderer<FakeImage> {
+        private final int failingPage;
+        final List<Integer> renderOrder = Collections.synchronizedList(new ArrayList<>());
+        final Set<FakeImage> rendered = ConcurrentHashMap.newKeySet();
+        final List<FakeImage> released = Collections.synchronizedList(new ArrayList<>());
+
+        FakeRenderer(int failingPage) {
+            this.failingPage = failingPage;
+        }
+
+        @Override
+        public FakeImage render(int pageIndex) throws IOException {
+            renderOrder.add(pageIndex);
+            if (pageIndex == failingPage) throw new IOException("render failed");
+            FakeImage image = new FakeImage(pageIndex);
+            rendered.add(image);
+            return image;
+        }
+
+        @Override
+        public void release(FakeImage image) {
+            released.add(image);
+        }
+
+        void assertAllReleased() {
+            assertEquals(rendered.size(), released.size());
+            assertEquals(rendered, new HashSet<>(released));
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.learnify;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class StreamingQuizParserTest {
+
+    private static final String QUESTION = "{\"questionText\":\"Where does photosynthesis happen?\","
+            + "\"answers\":[{\"answerText\":\"Chloroplasts\",\"isCorrect\":true},"
+            + "{\"answerText\":\"Nucleus\",\"isCorrect\":false}],"
+            + "\"explanation\":\"Chloroplasts hold chlorophyll.\"}";
+
+    @Test
+    public void questionsAreEmittedAsTheyArrive() {
+        List<Integer> emitted = new ArrayList<>();
+        StreamingQuizParser parser = new StreamingQuizParser((question, index) -> emitted.add(index));
+
+        feedInChunks(parser, "{\"topic\":\"Photosynthesis\",\"questions\":[" + QUESTION + "," + QUESTION + "]}", 7);
+
+        assertEquals("Photosynthesis", parser.getTopic());
+        assertEquals(2, parser.getQuestions().size());
+        assertEquals("Where does photosynthesis happen?", parser.getQuestions().get(0).getQuestionText());
+        assertEquals(2, emitted.size());
+    }
+
+    @Test
+    public void nonStringFieldsBeforeQuestionsAreSkipped() {
+        StreamingQuizParser parser = new StreamingQuizParser((question, index) -> {});
+
+        feedInChunks(parser, "{\"count\": 5, \"final\": true, \"questions\": [" + QUESTION + "], "
+                + "\"tags\": [\"biology\"], \"meta\": {\"topic\": \"x\"}, \"topic\": \"Photosynthesis\"}", 5);
+
+        assertEquals("Photosynthesis", parser.getTopic());
+        assertEquals(1, parser.getQuestions().size());
+    }
+
+    @Test
+    public void topicAfterNumberIsRead() {
+        StreamingQuizParser parser = new StreamingQuizParser((question, index) -> {});
+
+        parser.feed("{\"count\":5,\"topic\":\"Cells\",\"questions\":[" + QUESTION + "]}");
+
+        assertEquals("Cells", parser.getTopic());
+        assertEquals(1, parser.getQuestions().size());
+    }
+
+    private static void feedInChunks(StreamingQuizParser parser, String json, int chunkSize) {
+        for (int i = 0; i < json.length(); i += chunkSize) {
+            parser.feed(json.substring(i, Math.min(json.length(), i + chunkSize)));
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.learnify;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class TextNormalizerTest {
+
+    @Test
+    public void wordsMadeOfNumeralLettersAreKept() {
+        String text = "Introduction\n"
+                + "civil\n"
+                + "The first chapter covers civil rights.\n"
+                + "ill\n"
+                + "mix\n"
+                + "mild\n"
+                + "Closing remarks";
+        String normalized = normalize(text);
+        assertTrue(normalized.contains("\ncivil\n"));
+        assertTrue(normalized.contains("\nill\n"));
+        assertTrue(normalized.contains("\nmix\n"));
+        assertTrue(normalized.contains("\nmild\n"));
+    }
+
+    @Test
+    public void numeralNextToRunningFooterIsDropped() {
+        StringBuilder text = new StringBuilder();
+        String[] numerals = {"xii", "xiii", "xiv"};
+        for (String numeral : numerals) {
+            text.append("Preface\n")
+                    .append("Body text for page ").append(numeral).append(" of the preface.\n")
+                    .append("Cell Biology Notes\n")
+                    .append(numeral).append('\n');
+        }
+        String normalized = normalize(text.toString());
+        assertFalse(normalized.contains("\nxiv"));
+        assertFalse(normalized.contains("\nxiii\n"));
+        assertFalse(normalized.contains("Cell Biology Notes"));
+        assertTrue(normalized.contains("page xiv of the preface"));
+    }
+
+    @Test
+    public void numeralInBodyTextIsKept() {
+        String text = "Chapter one\nThe list continues:\nxiv\nand ends here.";
+        assertTrue(normalize(text).contains("\nxiv\n"));
+    }
+
+    @Test
+    public void numeralAtEdgeOfTextIsDropped() {
+        assertEquals("Photosynthesis stores light energy.", normalize("Photosynthesis stores light energy.\n\n  vii  "));
+    }
+
+    @Test
+    public void onlyWellFormedNumeralsMatch() {
+        for (String numeral : new String[]{"i", "iv", "ix", "xiv", "xl", "lxxxviii", "xcix", "cccxc"}) {
+            assertTrue(numeral, isRomanNumeral(numeral));
+        }
+        for (String word : new String[]{"civil", "ill", "mix", "mild", "vv", "iiii", "il", "xm", "dim", ""}) {
+            assertFalse(word, isRomanNumeral(word));
+        }
+    }
+
+    @Test
+    public void arabicPageNumbersAreDroppedAtPageEdges() {
+        assertEquals("Mitosis\n\nMeiosis\nends here",
+                normalize("Mitosis\nPage 3 of 20\n\f\n12\nMeiosis\nends here\n4 / 9"));
+    }
+
+    @Test
+    public void standaloneNumbersInBodyTextAreKept() {
+        assertEquals("Year\n2019\n2020\n2021", normalize("Year\n2019\n2020\n2021"));
+        assertEquals("Totals\n12\nper page", normalize("Totals\n12\nper page"));
+    }
+
+    @Test
+    public void numberedHeadingsAreKept() {
+        String text = "Kinematics\n"
+                + "Step 1\nFind the velocity.\n"
+                + "Step 2\nFind the acceleration.\n"
+                + "Step 3\nFind the distance.\n"
+                + "Figure 1\nFigure 2\nFigure 3\n"
+                + "Last.";
+        assertEquals(text, normalize(text));
+    }
+
+    @Test
+    public void numberedFootersAtPageEdgesAreDropped() {
+        String text = "Mitosis splits one nucleus.\nCell Biology 12\n\f\n"
+                + "Meiosis halves the chromosomes.\nCell Biology 13\n\f\n"
+                + "Summary of cell division.\nCell Biology 14";
+        assertEquals("Mitosis splits one nucleus.\n\nMeiosis halves the chromosomes.\n\nSummary of cell division.",
+                normalize(text));
+    }
+
+    @Test
+    public void captionCuesAreDroppedButParenthesesKept() {
+        assertEquals("so the (DNA) strand and the (mitochondria) is",
+                captions("so the (DNA) strand [Music] and um, the (mitochondria) is"));
+        assertEquals("cells divide", captions("[Background Music] cells [ Applause ] divide \u266A"));
+    }
+
+    @Test
+    public void bracketedContentThatIsNotACueIsKept() {
+        assertEquals("the [citation needed] claim", captions("the [citation needed] claim"));
+    }
+
+    private static String captions(String text) {
+        return TextNormalizer.forCaptions().normalize(text).getText();
+    }
+
+    private static String normalize(String text) {
+        return TextNormalizer.forDocuments().normalize(text).getText();
+    }
+
+    private static boolean isRomanNumeral(String text) {
+        return TextNormalizer.RepeatedLines.isRomanNumeral(text.toCharArray(), 0, text.length());
+    }
+}